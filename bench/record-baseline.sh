@@ -0,0 +1,19 @@
+#!/usr/bin/env bash
+# Запись базовых результатов JMH-бенчмарков в benchmarks/results.
+#
+# Требуется JDK 21: модуль собирается под Java 21, сравнивать замеры с другой JVM нельзя.
+# Запуск из корня репозитория на последнем коммите серии:
+#   bench/record-baseline.sh
+set -euo pipefail
+
+JAVA_MAJOR=$(java -XshowSettings:properties -version 2>&1 | awk -F' = ' '/java.specification.version/ {print $2}')
+if [[ "$JAVA_MAJOR" != "21" ]]; then
+  echo "Нужен JDK 21, сейчас java.specification.version=$JAVA_MAJOR" >&2
+  exit 1
+fi
+
+mvn -B -P benchmarks clean package -DskipTests
+mkdir -p benchmarks/results
+java -jar benchmarks/target/benchmarks.jar -prof gc -rf json -rff benchmarks/results/baseline.json \
+  | tee benchmarks/results/baseline.txt
+echo "Коммит: $(git rev-parse HEAD)" >> benchmarks/results/baseline.txt
@@ -0,0 +1,68 @@
+#!/usr/bin/env bash
+# Сравнение пропускной способности и p99 задержки gateway + server
+# на пуле платформенных потоков и на виртуальных потоках.
+#
+# Требуется: docker compose, curl, hey (https://github.com/rakyll/hey).
+# Запуск из корня репозитория после `mvn -B package -DskipTests`:
+#   bench/virtual-threads.sh
+# Параметры через окружение: CONCURRENCY, DURATION, ITEMS.
+set -euo pipefail
+
+CONCURRENCY=${CONCURRENCY:-"16 64 256 1024"}
+DURATION=${DURATION:-30s}
+ITEMS=${ITEMS:-50}
+GATEWAY=http://localhost:8080
+RESULTS=bench/results-$(date +%Y%m%d-%H%M%S).csv
+
+wait_for() {
+  for _ in $(seq 1 60); do
+    if curl -s -o /dev/null "$1"; then
+      return 0
+    fi
+    sleep 1
+  done
+  echo "Сервис $1 не поднялся" >&2
+  exit 1
+}
+
+seed() {
+  local owner
+  owner=$(curl -s -X POST "$GATEWAY/users" -H 'Content-Type: application/json' \
+    -d '{"name":"bench","email":"bench-'"$RANDOM"'@test.com"}' | sed -E 's/.*"id":([0-9]+).*/\1/')
+  for i in $(seq 1 "$ITEMS"); do
+    curl -s -o /dev/null -X POST "$GATEWAY/items" -H 'Content-Type: application/json' \
+      -H "X-Sharer-User-Id: $owner" \
+      -d '{"name":"Дрель '"$i"'","description":"Аккумуляторная дрель","available":true}'
+  done
+  echo "$owner"
+}
+
+run_mode() {
+  local mode=$1 virtual=$2 java_opts=$3
+  SHAREIT_VIRTUAL_THREADS=$virtual SHAREIT_JAVA_OPTS=$java_opts \
+    docker compose -f docker-compose.yml up --build --detach --force-recreate >/dev/null
+  wait_for "$GATEWAY/users"
+  local owner
+  owner=$(seed)
+
+  for c in $CONCURRENCY; do
+    # Прогрев JIT и пулов соединений перед замером
+    hey -z 10s -c "$c" -H "X-Sharer-User-Id: $owner" "$GATEWAY/items" >/dev/null
+    local report rps p99
+    report=$(hey -z "$DURATION" -c "$c" -H "X-Sharer-User-Id: $owner" "$GATEWAY/items")
+    rps=$(awk '/Requests\/sec/ {print $2}' <<<"$report")
+    p99=$(awk '/ 99% in / {print $3 * 1000}' <<<"$report")
+    echo "$mode,$c,$rps,$p99" | tee -a "$RESULTS"
+  done
+
+  if [ "$virtual" = true ]; then
+    echo "Закрепления виртуальных потоков (jdk.tracePinnedThreads):"
+    docker compose -f docker-compose.yml logs gateway server | grep -A5 "reason:MONITOR\|<== monitors" || echo "не обнаружено"
+  fi
+  docker compose -f docker-compose.yml down >/dev/null
+}
+
+echo "mode,concurrency,requests_per_sec,p99_ms" | tee "$RESULTS"
+run_mode platform false ""
+run_mode virtual true "-Djdk.tracePinnedThreads=short"
+echo "Результаты сохранены в $RESULTS"
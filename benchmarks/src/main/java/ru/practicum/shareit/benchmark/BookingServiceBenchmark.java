@@ -0,0 +1,139 @@
+package ru.practicum.shareit.benchmark;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.booking.dto.BookingPageDto;
+import ru.practicum.shareit.booking.dto.BookingViewDto;
+import ru.practicum.shareit.booking.dto.StateDto;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingArchiveRepository;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.repository.ItemBookingSummaryRepository;
+import ru.practicum.shareit.booking.service.BookingIntervalIndex;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.booking.service.BookingServiceImpl;
+import ru.practicum.shareit.booking.service.ItemBookingSummaryService;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemCacheProperties;
+import ru.practicum.shareit.item.service.ItemDetailCache;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookingServiceBenchmark {
+    private static final long BOOKER_ID = 2L;
+    private static final long OWNER_ID = 1L;
+
+    @Param({"ALL", "CURRENT", "PAST", "FUTURE", "WAITING", "REJECTED"})
+    public StateDto state;
+
+    @Param({"10", "50"})
+    public int pageSize;
+
+    private BookingService bookingService;
+
+    @Setup
+    public void setUp() {
+        User owner = Fixtures.user(OWNER_ID);
+        User booker = Fixtures.user(BOOKER_ID);
+        Item item = Fixtures.item(1, owner);
+        BookingStatus[] statuses = BookingStatus.values();
+        Map<StateDto, List<BookingViewDto>> views = new EnumMap<>(StateDto.class);
+        for (StateDto stateDto : StateDto.values()) {
+            views.put(stateDto, new ArrayList<>());
+        }
+        for (int i = 0; i < 200; i++) {
+            LocalDateTime start = Fixtures.NOW.minusDays(100).plusDays(i);
+            BookingViewDto view = Fixtures.view(Fixtures.booking(200 - i, item, booker, start,
+                    statuses[i % statuses.length]));
+            views.get(StateDto.ALL).add(view);
+            views.get(stateOf(view)).add(view);
+        }
+
+        InMemoryBookings bookings = new InMemoryBookings(views);
+        BookingRepository bookingRepository = Fakes.of(BookingRepository.class, bookings);
+        UserService userService = Fakes.of(UserService.class, new ExistingUsers());
+        ItemRepository itemRepository = Fakes.of(ItemRepository.class, new Object());
+        bookingService = new BookingServiceImpl(bookingRepository, itemRepository,
+                userService, new BookingIntervalIndex(bookingRepository),
+                new ItemDetailCache(new ItemCacheProperties(), new SimpleMeterRegistry()),
+                new ItemBookingSummaryService(Fakes.of(ItemBookingSummaryRepository.class, new Object()),
+                        bookingRepository, itemRepository),
+                Fakes.of(BookingArchiveRepository.class, new Object()));
+    }
+
+    @Benchmark
+    public BookingPageDto findByBookerId() {
+        return bookingService.findByBookerId(BOOKER_ID, state, null, pageSize);
+    }
+
+    @Benchmark
+    public BookingPageDto findByOwnerId() {
+        return bookingService.findByOwnerId(OWNER_ID, state, null, pageSize);
+    }
+
+    private static StateDto stateOf(BookingViewDto view) {
+        return switch (view.getStatus()) {
+            case WAITING -> StateDto.WAITING;
+            case REJECTED -> StateDto.REJECTED;
+            case APPROVED -> {
+                if (view.getStart().isAfter(Fixtures.NOW)) {
+                    yield StateDto.FUTURE;
+                }
+                yield view.getEnd().isBefore(Fixtures.NOW) ? StateDto.PAST : StateDto.CURRENT;
+            }
+        };
+    }
+
+    public static class InMemoryBookings {
+        private final Map<StateDto, List<BookingViewDto>> views;
+
+        InMemoryBookings(Map<StateDto, List<BookingViewDto>> views) {
+            this.views = views;
+        }
+
+        public List<BookingViewDto> findBookerBookingViews(Long bookerId, StateDto state, LocalDateTime now,
+                                                           LocalDateTime afterStart, Long afterId, int limit) {
+            return page(state, limit);
+        }
+
+        public List<BookingViewDto> findOwnerBookingViews(Long ownerId, StateDto state, LocalDateTime now,
+                                                          LocalDateTime afterStart, Long afterId, int limit) {
+            return page(state, limit);
+        }
+
+        private List<BookingViewDto> page(StateDto state, int limit) {
+            List<BookingViewDto> matching = views.get(state);
+            return new ArrayList<>(matching.subList(0, Math.min(limit, matching.size())));
+        }
+    }
+
+    public static class ExistingUsers {
+        public boolean existsUser(Long userId) {
+            return true;
+        }
+    }
+}
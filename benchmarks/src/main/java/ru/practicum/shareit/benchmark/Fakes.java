@@ -0,0 +1,36 @@
+package ru.practicum.shareit.benchmark;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+
+final class Fakes {
+
+    private Fakes() {
+    }
+
+    static <T> T of(Class<T> type, Object implementation) {
+        Object proxy = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                (self, method, args) -> {
+                    if (method.getDeclaringClass() == Object.class) {
+                        return method.invoke(implementation, args);
+                    }
+                    Method target = find(implementation, method);
+                    try {
+                        return target.invoke(implementation, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+        return type.cast(proxy);
+    }
+
+    private static Method find(Object implementation, Method method) {
+        return Arrays.stream(implementation.getClass().getMethods())
+                .filter(candidate -> candidate.getName().equals(method.getName())
+                        && Arrays.equals(candidate.getParameterTypes(), method.getParameterTypes()))
+                .findFirst()
+                .orElseThrow(() -> new UnsupportedOperationException("Fake does not implement " + method));
+    }
+}
@@ -0,0 +1,64 @@
+package ru.practicum.shareit.benchmark;
+
+import ru.practicum.shareit.booking.dto.BookingViewDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+final class Fixtures {
+    static final LocalDateTime NOW = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
+
+    private Fixtures() {
+    }
+
+    static User user(long id) {
+        return User.builder()
+                .id(id)
+                .name("user" + id)
+                .email("user" + id + "@test.com")
+                .build();
+    }
+
+    static Item item(long id, User owner) {
+        return Item.builder()
+                .id(id)
+                .name("Дрель " + id)
+                .description("Аккумуляторная дрель с двумя батареями, номер " + id)
+                .available(true)
+                .owner(owner)
+                .build();
+    }
+
+    static Booking booking(long id, Item item, User booker, LocalDateTime start, BookingStatus status) {
+        return Booking.builder()
+                .id(id)
+                .start(start)
+                .end(start.plusDays(1))
+                .item(item)
+                .booker(booker)
+                .status(status)
+                .build();
+    }
+
+    static Comment comment(long id, Item item, User author) {
+        return Comment.builder()
+                .id(id)
+                .item(item)
+                .user(author)
+                .text("Отличная вещь, всё работает " + id)
+                .created(NOW.minusDays(id))
+                .build();
+    }
+
+    static BookingViewDto view(Booking booking) {
+        return new BookingViewDto(booking.getId(), booking.getStart(), booking.getEnd(), booking.getStatus(),
+                booking.getItem().getId(), booking.getItem().getName(), booking.getItem().getDescription(),
+                booking.getItem().getAvailable(), booking.getBooker().getId(), booking.getBooker().getName(),
+                booking.getBooker().getEmail());
+    }
+}
@@ -0,0 +1,216 @@
+package ru.practicum.shareit.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.AbstractClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import ru.practicum.shareit.BaseClient;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingMapper;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GatewayClientBenchmark {
+    private static final String SERVER_URL = "http://server:9090/bookings";
+
+    @Param({"10", "100"})
+    public int bookingCount;
+
+    private BookingsClient client;
+    private RestTemplate rest;
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void setUp() throws Exception {
+        objectMapper = new ObjectMapper().findAndRegisterModules();
+        User owner = Fixtures.user(1);
+        User booker = Fixtures.user(2);
+        Item item = Fixtures.item(1, owner);
+        List<BookingDto> bookings = new ArrayList<>();
+        for (int i = 0; i < bookingCount; i++) {
+            bookings.add(BookingMapper.INSTANCE.toBookingDto(Fixtures.booking(i, item, booker,
+                    Fixtures.NOW.plusDays(i), BookingStatus.APPROVED)));
+        }
+        byte[] body = objectMapper.writeValueAsBytes(bookings);
+
+        rest = new RestTemplate(new CannedResponseFactory(body));
+        rest.setUriTemplateHandler(new DefaultUriBuilderFactory(SERVER_URL));
+        client = new BookingsClient(rest);
+    }
+
+    @Benchmark
+    public ResponseEntity<byte[]> passThrough() {
+        return client.getBookings(bookingCount);
+    }
+
+    @Benchmark
+    public int streaming() throws IOException {
+        DiscardingResponse response = new DiscardingResponse();
+        client.streamBookings(bookingCount, response);
+        return response.getStatus();
+    }
+
+    @Benchmark
+    public byte[] objectRoundTrip() throws Exception {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Sharer-User-Id", "2");
+        ResponseEntity<Object> response = rest.exchange("?state={state}&size={size}", HttpMethod.GET,
+                new HttpEntity<>(headers), Object.class, Map.of("state", "ALL", "size", bookingCount));
+        return objectMapper.writeValueAsBytes(response.getBody());
+    }
+
+    static class BookingsClient extends BaseClient {
+        BookingsClient(RestTemplate rest) {
+            super(rest);
+        }
+
+        ResponseEntity<byte[]> getBookings(int size) {
+            return get("?state={state}&size={size}", 2L, Map.of("state", "ALL", "size", size));
+        }
+
+        void streamBookings(int size, HttpServletResponse response) throws IOException {
+            getStreaming("?state={state}&size={size}", 2L, Map.of("state", "ALL", "size", size), response);
+        }
+    }
+
+    // Ответ сервлета без буфера тела: замер включает только работу gateway, а не копию в тестовый ответ
+    static class DiscardingResponse extends MockHttpServletResponse {
+        private final ServletOutputStream outputStream = new ServletOutputStream() {
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+            }
+
+            @Override
+            public void write(int b) {
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+            }
+        };
+
+        @Override
+        public ServletOutputStream getOutputStream() {
+            return outputStream;
+        }
+    }
+
+    static class CannedResponseFactory implements ClientHttpRequestFactory {
+        private final byte[] body;
+
+        CannedResponseFactory(byte[] body) {
+            this.body = body;
+        }
+
+        @Override
+        public ClientHttpRequest createRequest(URI uri, HttpMethod httpMethod) {
+            return new AbstractClientHttpRequest() {
+                private final ByteArrayOutputStream requestBody = new ByteArrayOutputStream();
+
+                @Override
+                public HttpMethod getMethod() {
+                    return httpMethod;
+                }
+
+                @Override
+                public URI getURI() {
+                    return uri;
+                }
+
+                @Override
+                protected OutputStream getBodyInternal(HttpHeaders headers) {
+                    return requestBody;
+                }
+
+                @Override
+                protected ClientHttpResponse executeInternal(HttpHeaders headers) {
+                    return new CannedResponse(body);
+                }
+            };
+        }
+    }
+
+    static class CannedResponse implements ClientHttpResponse {
+        private final byte[] body;
+        private final HttpHeaders headers = new HttpHeaders();
+
+        CannedResponse(byte[] body) {
+            this.body = body;
+            headers.setContentType(MediaType.APPLICATION_JSON);
+            headers.setContentLength(body.length);
+            headers.set("X-Next-Page-Token", "MjAyNC0wNi0wMVQxMjowMHwx");
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() {
+            return HttpStatus.OK;
+        }
+
+        @Override
+        public String getStatusText() {
+            return HttpStatus.OK.getReasonPhrase();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+
+        @Override
+        public InputStream getBody() {
+            return new ByteArrayInputStream(body);
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
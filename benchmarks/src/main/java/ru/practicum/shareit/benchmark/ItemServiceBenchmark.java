@@ -0,0 +1,184 @@
+package ru.practicum.shareit.benchmark;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Limit;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.model.ItemBookingSummary;
+import ru.practicum.shareit.booking.repository.BookingArchiveRepository;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.repository.ItemBookingSummaryRepository;
+import ru.practicum.shareit.booking.service.BookingIntervalIndex;
+import ru.practicum.shareit.booking.service.ItemBookingSummaryService;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.booking.service.BookingServiceImpl;
+import ru.practicum.shareit.item.dto.CommentViewDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemCacheProperties;
+import ru.practicum.shareit.item.service.ItemDetailCache;
+import ru.practicum.shareit.item.service.ItemSearchIndex;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.item.service.ItemServiceImpl;
+import ru.practicum.shareit.request.service.ItemRequestService;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ItemServiceBenchmark {
+    private static final long OWNER_ID = 1L;
+
+    @Param({"10", "100"})
+    public int itemCount;
+
+    private ItemService itemService;
+    private ItemDetailCache itemDetailCache;
+    private Long firstItemId;
+
+    @Setup
+    public void setUp() {
+        User owner = Fixtures.user(OWNER_ID);
+        User booker = Fixtures.user(2);
+        List<Item> items = new ArrayList<>();
+        List<Booking> lastBookings = new ArrayList<>();
+        List<Booking> nextBookings = new ArrayList<>();
+        List<Comment> comments = new ArrayList<>();
+        for (long id = 1; id <= itemCount; id++) {
+            Item item = Fixtures.item(id, owner);
+            items.add(item);
+            lastBookings.add(Fixtures.booking(id * 2, item, booker, Fixtures.NOW.minusDays(3), BookingStatus.APPROVED));
+            nextBookings.add(Fixtures.booking(id * 2 + 1, item, booker, Fixtures.NOW.plusDays(3),
+                    BookingStatus.APPROVED));
+            for (long c = 0; c < 3; c++) {
+                comments.add(Fixtures.comment(id * 3 + c, item, booker));
+            }
+        }
+        firstItemId = items.getFirst().getId();
+
+        InMemoryItems itemStore = new InMemoryItems(items, comments, lastBookings, nextBookings);
+        BookingRepository bookingRepository = Fakes.of(BookingRepository.class, itemStore);
+        ItemRepository itemRepository = Fakes.of(ItemRepository.class, itemStore);
+        UserService userService = Fakes.of(UserService.class, new Object());
+        itemDetailCache = new ItemDetailCache(new ItemCacheProperties(), new SimpleMeterRegistry());
+        ItemBookingSummaryService summaryService = new ItemBookingSummaryService(
+                Fakes.of(ItemBookingSummaryRepository.class, itemStore), bookingRepository, itemRepository);
+        BookingService bookingService = new BookingServiceImpl(bookingRepository, itemRepository, userService,
+                new BookingIntervalIndex(bookingRepository), itemDetailCache, summaryService,
+                Fakes.of(BookingArchiveRepository.class, new Object()));
+        itemService = new ItemServiceImpl(itemRepository, userService, Fakes.of(CommentRepository.class, itemStore),
+                bookingService, Fakes.of(ItemRequestService.class, new Object()), new ItemSearchIndex(itemRepository),
+                itemDetailCache, Fakes.of(EntityManager.class, itemStore));
+    }
+
+    @Benchmark
+    public Collection<ItemDto> getUserAllItems() {
+        return itemService.getUserAllItems(OWNER_ID);
+    }
+
+    @Benchmark
+    public ItemDto getItemByIdUncached() {
+        itemDetailCache.evict(firstItemId, "benchmark");
+        return itemService.getItemById(firstItemId);
+    }
+
+    @Benchmark
+    public ItemDto getItemByIdCached() {
+        return itemService.getItemById(firstItemId);
+    }
+
+    public static class InMemoryItems {
+        private final List<Item> items;
+        private final Map<Long, Item> itemsById;
+        private final Map<Long, List<Comment>> commentsByItem;
+        private final Map<Long, Booking> lastBookings;
+        private final Map<Long, Booking> nextBookings;
+
+        InMemoryItems(List<Item> items, List<Comment> comments, List<Booking> lastBookings,
+                      List<Booking> nextBookings) {
+            this.items = items;
+            this.itemsById = items.stream().collect(Collectors.toMap(Item::getId, Function.identity()));
+            this.commentsByItem = comments.stream().collect(Collectors.groupingBy(comment -> comment.getItem().getId()));
+            this.lastBookings = lastBookings.stream()
+                    .collect(Collectors.toMap(booking -> booking.getItem().getId(), Function.identity()));
+            this.nextBookings = nextBookings.stream()
+                    .collect(Collectors.toMap(booking -> booking.getItem().getId(), Function.identity()));
+        }
+
+        public Stream<Item> streamByOwnerIdOrderById(Long ownerId) {
+            return items.stream();
+        }
+
+        public void clear() {
+        }
+
+        public Optional<Item> findById(Object itemId) {
+            return Optional.ofNullable(itemsById.get((Long) itemId));
+        }
+
+        public List<CommentViewDto> findFirstPageByItemId(Long itemId, Limit limit) {
+            return findNewestByItemIdIn(List.of(itemId), limit.max());
+        }
+
+        public List<CommentViewDto> findNewestByItemIdIn(Collection<Long> itemIds, int perItem) {
+            return itemIds.stream()
+                    .flatMap(itemId -> commentsByItem.getOrDefault(itemId, List.of()).stream().limit(perItem))
+                    .map(comment -> new CommentViewDto(comment.getId(), comment.getItem().getId(), comment.getText(),
+                            comment.getUser().getName(), comment.getCreated()))
+                    .toList();
+        }
+
+        public List<Booking> findLastBookingsByItemIds(Collection<Long> itemIds, BookingStatus status,
+                                                       LocalDateTime now) {
+            return select(lastBookings, itemIds);
+        }
+
+        public List<Booking> findNextBookingsByItemIds(Collection<Long> itemIds, BookingStatus status,
+                                                       LocalDateTime now) {
+            return select(nextBookings, itemIds);
+        }
+
+        public List<ItemBookingSummary> findAllWithBookingsByItemIdIn(Collection<Long> itemIds) {
+            return itemIds.stream()
+                    .map(itemId -> new ItemBookingSummary(itemId, lastBookings.get(itemId), nextBookings.get(itemId),
+                            null))
+                    .toList();
+        }
+
+        private static List<Booking> select(Map<Long, Booking> bookings, Collection<Long> itemIds) {
+            return itemIds.stream()
+                    .map(bookings::get)
+                    .toList();
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingMapper;
+import ru.practicum.shareit.booking.dto.BookingViewDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.CommentMapper;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemMapper;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.dto.UserMapper;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+    private User user;
+    private Item item;
+    private Booking booking;
+    private BookingViewDto bookingView;
+    private Comment comment;
+
+    @Setup
+    public void setUp() {
+        User owner = Fixtures.user(1);
+        user = Fixtures.user(2);
+        item = Fixtures.item(1, owner);
+        booking = Fixtures.booking(1, item, user, Fixtures.NOW, BookingStatus.APPROVED);
+        bookingView = Fixtures.view(booking);
+        comment = Fixtures.comment(1, item, user);
+    }
+
+    @Benchmark
+    public BookingDto bookingToDto() {
+        return BookingMapper.INSTANCE.toBookingDto(booking);
+    }
+
+    @Benchmark
+    public BookingDto bookingViewToDto() {
+        return BookingMapper.INSTANCE.toBookingDto(bookingView);
+    }
+
+    @Benchmark
+    public ItemDto itemToDto() {
+        return ItemMapper.INSTANCE.toItemDto(item);
+    }
+
+    @Benchmark
+    public CommentDto commentToDto() {
+        return CommentMapper.INSTANCE.toCommentDto(comment);
+    }
+
+    @Benchmark
+    public UserDto userToDto() {
+        return UserMapper.INSTANCE.toUserDto(user);
+    }
+}
@@ -1,52 +1,79 @@
 package ru.practicum.shareit.booking;
 
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.BaseClient;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingState;
 
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @Service
 public class BookingClient extends BaseClient {
 
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                         ClientHttpRequestFactory upstreamRequestFactory) {
         super(builder
                 .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + "/bookings"))
-                .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
+                .requestFactory(() -> upstreamRequestFactory)
                 .build()
         );
     }
 
-    public ResponseEntity<Object> getBookingsByUser(long userId, BookingState state, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
-                "state", state.name(),
-                "from", from,
-                "size", size
-        );
-        return get("?state={state}&from={from}&size={size}", userId, parameters);
+    public void getBookingsByUser(long userId, BookingState state, String pageToken, Integer size,
+                                  HttpServletResponse response) throws IOException {
+        getBookingsPage("", userId, state, pageToken, size, response);
     }
 
-    public ResponseEntity<Object> createBooking(long userId, BookingRequestDto requestDto) {
+    public ResponseEntity<byte[]> createBooking(long userId, BookingRequestDto requestDto) {
         return post("", userId, requestDto);
     }
 
-    public ResponseEntity<Object> getBookingById(long userId, Long bookingId) {
+    public ResponseEntity<byte[]> createBookings(long userId, List<BookingRequestDto> requestDtos) {
+        return post("/batch", userId, requestDtos);
+    }
+
+    public ResponseEntity<byte[]> getBookingById(long userId, Long bookingId) {
         return get("/" + bookingId, userId);
     }
 
-    public ResponseEntity<Object> updateBookingStatus(long userId, long bookingId, Boolean approved) {
+    public ResponseEntity<byte[]> getBookerSummary(long userId) {
+        return get("/summary", userId);
+    }
+
+    public ResponseEntity<byte[]> getOwnerSummary(long userId) {
+        return get("/owner/summary", userId);
+    }
+
+    public ResponseEntity<byte[]> updateBookingStatus(long userId, long bookingId, Boolean approved) {
         return patch("/" + bookingId + "?approved=" + approved, userId);
     }
 
-    public ResponseEntity<Object> getBookingsByOwner(long userId, String state) {
-        return get("/owner?state=" + state, userId);
+    public void getBookingsByOwner(long userId, BookingState state, String pageToken, Integer size,
+                                   HttpServletResponse response) throws IOException {
+        getBookingsPage("/owner", userId, state, pageToken, size, response);
+    }
+
+    private void getBookingsPage(String path, long userId, BookingState state, String pageToken, Integer size,
+                                 HttpServletResponse response) throws IOException {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("state", state.name());
+        parameters.put("size", size);
+        if (pageToken == null) {
+            getStreaming(path + "?state={state}&size={size}", userId, parameters, response);
+            return;
+        }
+        parameters.put("pageToken", pageToken);
+        getStreaming(path + "?state={state}&size={size}&pageToken={pageToken}", userId, parameters, response);
     }
 }
\ No newline at end of file
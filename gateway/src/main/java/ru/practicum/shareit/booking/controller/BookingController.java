@@ -1,8 +1,10 @@
 package ru.practicum.shareit.booking.controller;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Positive;
-import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -12,24 +14,39 @@ import ru.practicum.shareit.booking.BookingClient;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingState;
 
+import java.io.IOException;
+import java.util.List;
+
 @RestController
 @Slf4j
 @RequiredArgsConstructor
 @RequestMapping(path = "/bookings")
 public class BookingController {
+    private static final int MAX_BATCH_SIZE = 1000;
+    private static final int MAX_PAGE_SIZE = 1000;
+
     private final BookingClient bookingClient;
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
-    public ResponseEntity<Object> createBooking(
+    public ResponseEntity<byte[]> createBooking(
             @RequestHeader("X-Sharer-User-Id") long userId,
             @RequestBody @Valid BookingRequestDto requestDto) {
         log.info("Create booking: userId={}, requestDto={}", userId, requestDto);
         return bookingClient.createBooking(userId, requestDto);
     }
 
+    @PostMapping("/batch")
+    @ResponseStatus(HttpStatus.CREATED)
+    public ResponseEntity<byte[]> createBookings(
+            @RequestHeader("X-Sharer-User-Id") long userId,
+            @RequestBody @Size(min = 1, max = MAX_BATCH_SIZE) List<@Valid BookingRequestDto> requestDtos) {
+        log.info("Create bookings batch: userId={}, size={}", userId, requestDtos.size());
+        return bookingClient.createBookings(userId, requestDtos);
+    }
+
     @PatchMapping("/{bookingId}")
-    public ResponseEntity<Object> updateBookingStatus(
+    public ResponseEntity<byte[]> updateBookingStatus(
             @RequestHeader("X-Sharer-User-Id") long userId,
             @RequestParam Boolean approved,
             @PathVariable long bookingId) {
@@ -38,7 +55,7 @@ public class BookingController {
     }
 
     @GetMapping("/{bookingId}")
-    public ResponseEntity<Object> getBookingById(
+    public ResponseEntity<byte[]> getBookingById(
             @RequestHeader("X-Sharer-User-Id") long userId,
             @PathVariable long bookingId) {
         log.info("Get booking by ID: userId={}, bookingId={}", userId, bookingId);
@@ -46,22 +63,40 @@ public class BookingController {
     }
 
     @GetMapping
-    public ResponseEntity<Object> getBookingsByUser(
+    public void getBookingsByUser(
             @RequestHeader("X-Sharer-User-Id") long userId,
             @RequestParam(name = "state", defaultValue = "ALL") String stateParam,
-            @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
-            @Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
+            @RequestParam(name = "pageToken", required = false) String pageToken,
+            @Positive @Max(MAX_PAGE_SIZE) @RequestParam(name = "size", defaultValue = "10") Integer size,
+            HttpServletResponse response) throws IOException {
         BookingState state = BookingState.from(stateParam)
                 .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
-        log.info("Get bookings by user: userId={}, state={}, from={}, size={}", userId, state, from, size);
-        return bookingClient.getBookingsByUser(userId, state, from, size);
+        log.info("Get bookings by user: userId={}, state={}, pageToken={}, size={}", userId, state, pageToken, size);
+        bookingClient.getBookingsByUser(userId, state, pageToken, size, response);
     }
 
     @GetMapping("/owner")
-    public ResponseEntity<Object> getBookingsByOwner(
+    public void getBookingsByOwner(
             @RequestHeader("X-Sharer-User-Id") long userId,
-            @RequestParam(defaultValue = "ALL") String state) {
-        log.info("Get bookings by owner: userId={}, state={}", userId, state);
-        return bookingClient.getBookingsByOwner(userId, state);
+            @RequestParam(name = "state", defaultValue = "ALL") String stateParam,
+            @RequestParam(name = "pageToken", required = false) String pageToken,
+            @Positive @Max(MAX_PAGE_SIZE) @RequestParam(name = "size", defaultValue = "10") Integer size,
+            HttpServletResponse response) throws IOException {
+        BookingState state = BookingState.from(stateParam)
+                .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
+        log.info("Get bookings by owner: userId={}, state={}, pageToken={}, size={}", userId, state, pageToken, size);
+        bookingClient.getBookingsByOwner(userId, state, pageToken, size, response);
+    }
+
+    @GetMapping("/summary")
+    public ResponseEntity<byte[]> getBookerSummary(@RequestHeader("X-Sharer-User-Id") long userId) {
+        log.info("Get booking summary by user: userId={}", userId);
+        return bookingClient.getBookerSummary(userId);
+    }
+
+    @GetMapping("/owner/summary")
+    public ResponseEntity<byte[]> getOwnerSummary(@RequestHeader("X-Sharer-User-Id") long userId) {
+        log.info("Get booking summary by owner: userId={}", userId);
+        return bookingClient.getOwnerSummary(userId);
     }
-}
\ No newline at end of file
+}
@@ -1,49 +1,87 @@
 package ru.practicum.shareit.item;
 
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.BaseClient;
 import ru.practicum.shareit.item.dto.CommentRequest;
 import ru.practicum.shareit.item.dto.ItemDto;
 
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 @Service
 public class ItemClient extends BaseClient {
 
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                      ClientHttpRequestFactory upstreamRequestFactory) {
         super(builder
                 .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + "/items"))
-                .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
+                .requestFactory(() -> upstreamRequestFactory)
                 .build()
         );
     }
 
-    public ResponseEntity<Object> createItem(Long userId, ItemDto itemDto) {
+    public ResponseEntity<byte[]> createItem(Long userId, ItemDto itemDto) {
         return post("", userId, itemDto);
     }
 
-    public ResponseEntity<Object> updateItem(Long userId, Long itemId, ItemDto itemDto) {
+    public ResponseEntity<byte[]> createItems(Long userId, List<ItemDto> itemDtos) {
+        return post("/batch", userId, itemDtos);
+    }
+
+    public ResponseEntity<byte[]> updateItem(Long userId, Long itemId, ItemDto itemDto) {
         return patch("/" + itemId, userId, itemDto);
     }
 
-    public ResponseEntity<Object> getAllItemsByOwner(Long userId) {
-        return get("/", userId);
+    public void getAllItemsByOwner(Long userId, HttpServletResponse response) throws IOException {
+        getStreaming("", userId, response);
     }
 
-    public ResponseEntity<Object> getItemById(Long userId, Long itemId) {
+    public ResponseEntity<byte[]> getItemById(Long userId, Long itemId) {
         return get("/" + itemId, userId);
     }
 
-    public ResponseEntity<Object> searchItems(Long userId, String text) {
-        return get("/search?text=" + text, userId);
+    public void searchItems(Long userId, String text, Integer from, Integer size, HttpServletResponse response)
+            throws IOException {
+        Map<String, Object> parameters = Map.of(
+                "text", text,
+                "from", from,
+                "size", size
+        );
+        getStreaming("/search?text={text}&from={from}&size={size}", userId, parameters, response);
+    }
+
+    public ResponseEntity<byte[]> getFreeSlots(Long userId, Long itemId, LocalDateTime from, LocalDateTime to) {
+        Map<String, Object> parameters = Map.of(
+                "from", from,
+                "to", to
+        );
+        return get("/" + itemId + "/free-slots?from={from}&to={to}", userId, parameters);
+    }
+
+    public void getItemComments(Long userId, Long itemId, String pageToken, Integer size,
+                                HttpServletResponse response) throws IOException {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("size", size);
+        if (pageToken == null) {
+            getStreaming("/" + itemId + "/comments?size={size}", userId, parameters, response);
+            return;
+        }
+        parameters.put("pageToken", pageToken);
+        getStreaming("/" + itemId + "/comments?size={size}&pageToken={pageToken}", userId, parameters, response);
     }
 
-    public ResponseEntity<Object> addCommentToItem(Long userId, Long itemId, CommentRequest commentRequest) {
+    public ResponseEntity<byte[]> addCommentToItem(Long userId, Long itemId, CommentRequest commentRequest) {
         return post("/" + itemId + "/comment", userId, commentRequest);
     }
 }
\ No newline at end of file
@@ -1,8 +1,14 @@
 package ru.practicum.shareit.item.controller;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -10,24 +16,40 @@ import ru.practicum.shareit.item.ItemClient;
 import ru.practicum.shareit.item.dto.CommentRequest;
 import ru.practicum.shareit.item.dto.ItemDto;
 
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+
 @RestController
 @RequestMapping("/items")
 @RequiredArgsConstructor
 @Slf4j
 public class ItemController {
+    private static final int MAX_BATCH_SIZE = 1000;
+    private static final int MAX_COMMENT_PAGE_SIZE = 100;
+
     private final ItemClient itemClient;
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
-    public ResponseEntity<Object> createItem(
+    public ResponseEntity<byte[]> createItem(
             @RequestHeader("X-Sharer-User-Id") Long userId,
             @Valid @RequestBody ItemDto itemDto) {
         log.info("Create item: userId={}, itemDto={}", userId, itemDto);
         return itemClient.createItem(userId, itemDto);
     }
 
+    @PostMapping("/batch")
+    @ResponseStatus(HttpStatus.CREATED)
+    public ResponseEntity<byte[]> createItems(
+            @RequestHeader("X-Sharer-User-Id") Long userId,
+            @RequestBody @Size(min = 1, max = MAX_BATCH_SIZE) List<@Valid ItemDto> itemDtos) {
+        log.info("Create items batch: userId={}, size={}", userId, itemDtos.size());
+        return itemClient.createItems(userId, itemDtos);
+    }
+
     @PatchMapping("/{itemId}")
-    public ResponseEntity<Object> updateItem(
+    public ResponseEntity<byte[]> updateItem(
             @RequestHeader("X-Sharer-User-Id") Long userId,
             @PathVariable Long itemId,
             @Valid @RequestBody ItemDto itemDto) {
@@ -36,7 +58,7 @@ public class ItemController {
     }
 
     @GetMapping("/{itemId}")
-    public ResponseEntity<Object> getItemById(
+    public ResponseEntity<byte[]> getItemById(
             @RequestHeader("X-Sharer-User-Id") Long userId,
             @PathVariable Long itemId) {
         log.info("Get item by ID: userId={}, itemId={}", userId, itemId);
@@ -44,22 +66,47 @@ public class ItemController {
     }
 
     @GetMapping
-    public ResponseEntity<Object> getAllItemsByOwner(
-            @RequestHeader("X-Sharer-User-Id") Long userId) {
+    public void getAllItemsByOwner(
+            @RequestHeader("X-Sharer-User-Id") Long userId,
+            HttpServletResponse response) throws IOException {
         log.info("Get all items by owner: userId={}", userId);
-        return itemClient.getAllItemsByOwner(userId);
+        itemClient.getAllItemsByOwner(userId, response);
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Object> searchItems(
+    public void searchItems(
             @RequestHeader("X-Sharer-User-Id") Long userId,
-            @RequestParam String text) {
-        log.info("Search items: userId={}, text={}", userId, text);
-        return itemClient.searchItems(userId, text);
+            @RequestParam String text,
+            @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
+            @Positive @RequestParam(name = "size", defaultValue = "10") Integer size,
+            HttpServletResponse response) throws IOException {
+        log.info("Search items: userId={}, text={}, from={}, size={}", userId, text, from, size);
+        itemClient.searchItems(userId, text, from, size, response);
+    }
+
+    @GetMapping("/{itemId}/free-slots")
+    public ResponseEntity<byte[]> getFreeSlots(
+            @RequestHeader("X-Sharer-User-Id") Long userId,
+            @PathVariable Long itemId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        log.info("Get free slots: userId={}, itemId={}, from={}, to={}", userId, itemId, from, to);
+        return itemClient.getFreeSlots(userId, itemId, from, to);
+    }
+
+    @GetMapping("/{itemId}/comments")
+    public void getItemComments(
+            @RequestHeader("X-Sharer-User-Id") Long userId,
+            @PathVariable Long itemId,
+            @RequestParam(name = "pageToken", required = false) String pageToken,
+            @Positive @Max(MAX_COMMENT_PAGE_SIZE) @RequestParam(name = "size", defaultValue = "10") Integer size,
+            HttpServletResponse response) throws IOException {
+        log.info("Get item comments: userId={}, itemId={}, pageToken={}, size={}", userId, itemId, pageToken, size);
+        itemClient.getItemComments(userId, itemId, pageToken, size, response);
     }
 
     @PostMapping("/{itemId}/comment")
-    public ResponseEntity<Object> addCommentToItem(
+    public ResponseEntity<byte[]> addCommentToItem(
             @PathVariable Long itemId,
             @RequestHeader("X-Sharer-User-Id") Long userId,
             @RequestBody CommentRequest commentRequest) {
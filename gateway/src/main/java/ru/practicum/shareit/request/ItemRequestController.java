@@ -1,21 +1,28 @@
 package ru.practicum.shareit.request;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Positive;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
+import java.io.IOException;
+
 @Slf4j
 @RestController
 @RequiredArgsConstructor
 @RequestMapping(path = "/requests")
 public class ItemRequestController {
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final RequestClient requestClient;
 
     @PostMapping
-    public ResponseEntity<Object> createItemRequest(
+    public ResponseEntity<byte[]> createItemRequest(
             @RequestHeader("X-Sharer-User-Id") Long userId,
             @Valid @RequestBody ItemRequestDto itemRequestDto) {
         log.info("Create item request: userId={}, itemRequestDto={}", userId, itemRequestDto);
@@ -23,21 +30,25 @@ public class ItemRequestController {
     }
 
     @GetMapping
-    public ResponseEntity<Object> getAllItemRequestsByUser(
-            @RequestHeader("X-Sharer-User-Id") Long userId) {
+    public void getAllItemRequestsByUser(
+            @RequestHeader("X-Sharer-User-Id") Long userId,
+            HttpServletResponse response) throws IOException {
         log.info("Get all item requests by user: userId={}", userId);
-        return requestClient.getAllItemRequestsByUser(userId);
+        requestClient.getAllItemRequestsByUser(userId, response);
     }
 
     @GetMapping("/all")
-    public ResponseEntity<Object> getAllItemRequests(
-            @RequestHeader("X-Sharer-User-Id") Long userId) {
-        log.info("Get all item requests: userId={}", userId);
-        return requestClient.getAllItemRequests(userId);
+    public void getAllItemRequests(
+            @RequestHeader("X-Sharer-User-Id") Long userId,
+            @RequestParam(name = "pageToken", required = false) String pageToken,
+            @Positive @Max(MAX_PAGE_SIZE) @RequestParam(name = "size", defaultValue = "10") Integer size,
+            HttpServletResponse response) throws IOException {
+        log.info("Get all item requests: userId={}, pageToken={}, size={}", userId, pageToken, size);
+        requestClient.getAllItemRequests(userId, pageToken, size, response);
     }
 
     @GetMapping("/{requestId}")
-    public ResponseEntity<Object> getItemRequestById(
+    public ResponseEntity<byte[]> getItemRequestById(
             @RequestHeader("X-Sharer-User-Id") Long userId,
             @PathVariable Long requestId) {
         log.info("Get item request by ID: userId={}, requestId={}", userId, requestId);
@@ -1,41 +1,55 @@
 package ru.practicum.shareit.request;
 
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.BaseClient;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
 @Service
 public class RequestClient extends BaseClient {
 
     @Autowired
-    public RequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public RequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                         ClientHttpRequestFactory upstreamRequestFactory) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + "/requests"))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
+                        .requestFactory(() -> upstreamRequestFactory)
                         .build()
         );
     }
 
-    public ResponseEntity<Object> createItemRequest(Long userId, ItemRequestDto itemRequestDto) {
+    public ResponseEntity<byte[]> createItemRequest(Long userId, ItemRequestDto itemRequestDto) {
         return post("", userId, itemRequestDto);
     }
 
-    public ResponseEntity<Object> getAllItemRequestsByUser(Long userId) {
-        return get("", userId);
+    public void getAllItemRequestsByUser(Long userId, HttpServletResponse response) throws IOException {
+        getStreaming("", userId, response);
     }
 
-    public ResponseEntity<Object> getAllItemRequests(Long userId) {
-        return get("/all", userId);
+    public void getAllItemRequests(Long userId, String pageToken, Integer size, HttpServletResponse response)
+            throws IOException {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("size", size);
+        if (pageToken == null) {
+            getStreaming("/all?size={size}", userId, parameters, response);
+            return;
+        }
+        parameters.put("pageToken", pageToken);
+        getStreaming("/all?size={size}&pageToken={pageToken}", userId, parameters, response);
     }
 
-    public ResponseEntity<Object> getItemRequestById(Long requestId, Long userId) {
+    public ResponseEntity<byte[]> getItemRequestById(Long requestId, Long userId) {
         return get("/" + requestId, userId);
     }
 }
\ No newline at end of file
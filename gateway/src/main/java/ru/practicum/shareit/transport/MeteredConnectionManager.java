@@ -0,0 +1,56 @@
+package ru.practicum.shareit.transport;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.io.ConnectionEndpoint;
+import org.apache.hc.client5.http.io.LeaseRequest;
+import org.apache.hc.core5.util.Timeout;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+public class MeteredConnectionManager extends PoolingHttpClientConnectionManager {
+    private final Timer acquired;
+    private final Timer timedOut;
+
+    public MeteredConnectionManager(MeterRegistry meterRegistry) {
+        this.acquired = acquireTimer(meterRegistry, "acquired");
+        this.timedOut = acquireTimer(meterRegistry, "timeout");
+    }
+
+    @Override
+    public LeaseRequest lease(String id, HttpRoute route, Timeout requestTimeout, Object state) {
+        LeaseRequest leaseRequest = super.lease(id, route, requestTimeout, state);
+        return new LeaseRequest() {
+            @Override
+            public ConnectionEndpoint get(Timeout timeout)
+                    throws InterruptedException, ExecutionException, TimeoutException {
+                long startedAt = System.nanoTime();
+                try {
+                    ConnectionEndpoint endpoint = leaseRequest.get(timeout);
+                    acquired.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                    return endpoint;
+                } catch (TimeoutException e) {
+                    timedOut.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                    throw e;
+                }
+            }
+
+            @Override
+            public boolean cancel() {
+                return leaseRequest.cancel();
+            }
+        };
+    }
+
+    private static Timer acquireTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("shareit.upstream.pool.acquire")
+                .description("Time spent waiting for a pooled connection to the server")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
@@ -1,13 +1,18 @@
 package ru.practicum.shareit.user.controller;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.user.UserClient;
 import ru.practicum.shareit.user.dto.UserDto;
 
+import java.io.IOException;
+
 @Slf4j
 @RestController
 @RequiredArgsConstructor
@@ -17,13 +22,20 @@ public class UserController {
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
-    public ResponseEntity<Object> createUser(@RequestBody UserDto userDto) {
+    public ResponseEntity<byte[]> createUser(@RequestBody UserDto userDto) {
         log.info("Create user: userDto={}", userDto);
         return userClient.createUser(userDto);
     }
 
+    @PostMapping(path = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE,
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void importUsers(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        log.info("Import users");
+        userClient.importUsers(request.getInputStream(), response);
+    }
+
     @PatchMapping("/{userId}")
-    public ResponseEntity<Object> updateUser(
+    public ResponseEntity<byte[]> updateUser(
             @PathVariable long userId,
             @RequestBody UserDto userDto) {
         log.info("Update user: userId={}, userDto={}", userId, userDto);
@@ -37,7 +49,7 @@ public class UserController {
     }
 
     @GetMapping("/{userId}")
-    public ResponseEntity<Object> getUserById(@PathVariable long userId) {
+    public ResponseEntity<byte[]> getUserById(@PathVariable long userId) {
         log.info("Get user by ID: userId={}", userId);
         return userClient.getUserById(userId);
     }
@@ -0,0 +1,26 @@
+package ru.practicum.shareit.loadtest;
+
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.parse(args);
+        try (ShareItStack stack = new ShareItStack(config)) {
+            stack.start();
+            ShareItTraffic traffic = new ShareItTraffic(stack.gatewayUri());
+            traffic.seed(config.users, config.items);
+
+            OpenLoopRunner runner = new OpenLoopRunner(traffic, config.rate, config.mix);
+            System.out.printf("Warming up for %s%n", config.warmup);
+            runner.warmUp(config.warmup);
+            System.out.printf("Measuring for %s%n", config.duration);
+            runner.measure(config.duration);
+
+            runner.report(config.duration, System.out);
+            runner.writeHistograms(config.workDir);
+            System.out.printf("Histograms written to %s%n", config.workDir.toAbsolutePath());
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package ru.practicum.shareit.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+final class LoadTestConfig {
+    private static final String DEFAULT_MIX = "create-user:5,create-item:5,create-booking:20,approve:10,"
+            + "owner-bookings:30,search:25,comment:5";
+
+    final int rate;
+    final Duration warmup;
+    final Duration duration;
+    final Map<Operation, Integer> mix;
+    final int users;
+    final int items;
+    final int serverPort;
+    final int gatewayPort;
+    final Path serverJar;
+    final Path gatewayJar;
+    final Path h2Jar;
+    final Path workDir;
+    final boolean virtualThreads;
+
+    private LoadTestConfig(Map<String, String> options) {
+        rate = Integer.parseInt(options.getOrDefault("rate", "200"));
+        warmup = parseDuration(options.getOrDefault("warmup", "15s"));
+        duration = parseDuration(options.getOrDefault("duration", "60s"));
+        mix = parseMix(options.getOrDefault("mix", DEFAULT_MIX));
+        users = Integer.parseInt(options.getOrDefault("users", "50"));
+        items = Integer.parseInt(options.getOrDefault("items", "200"));
+        serverPort = Integer.parseInt(options.getOrDefault("server-port", "19090"));
+        gatewayPort = Integer.parseInt(options.getOrDefault("gateway-port", "18080"));
+        serverJar = Path.of(options.getOrDefault("server-jar", "server/target/shareit-server-0.0.1-SNAPSHOT.jar"));
+        gatewayJar = Path.of(options.getOrDefault("gateway-jar",
+                "gateway/target/shareit-gateway-0.0.1-SNAPSHOT.jar"));
+        h2Jar = Path.of(options.getOrDefault("h2-jar", "load-test/target/server-lib/h2.jar"));
+        workDir = Path.of(options.getOrDefault("work-dir", "load-test/target/run"));
+        virtualThreads = Boolean.parseBoolean(options.getOrDefault("virtual-threads", "false"));
+        if (rate <= 0 || users < 2 || items <= 0) {
+            throw new IllegalArgumentException("rate and items must be positive, users must be at least 2");
+        }
+    }
+
+    static LoadTestConfig parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value, got " + arg);
+            }
+            int separator = arg.indexOf('=');
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        return new LoadTestConfig(options);
+    }
+
+    private static Duration parseDuration(String value) {
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        if (value.endsWith("s")) {
+            return Duration.ofSeconds(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        if (value.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        return Duration.ofSeconds(Long.parseLong(value));
+    }
+
+    private static Map<Operation, Integer> parseMix(String value) {
+        Map<Operation, Integer> mix = new LinkedHashMap<>();
+        for (String entry : value.split(",")) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Expected operation:weight in mix, got " + entry);
+            }
+            int weight = Integer.parseInt(parts[1]);
+            if (weight > 0) {
+                mix.put(Operation.byName(parts[0]), weight);
+            }
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("Traffic mix is empty");
+        }
+        return mix;
+    }
+}
@@ -0,0 +1,168 @@
+package ru.practicum.shareit.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+final class OpenLoopRunner {
+    private static final Duration DRAIN_TIMEOUT = Duration.ofSeconds(30);
+
+    private final ShareItTraffic traffic;
+    private final int rate;
+    private final Operation[] weighted;
+    private final Map<Operation, Stats> stats = new EnumMap<>(Operation.class);
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile boolean recording;
+
+    OpenLoopRunner(ShareItTraffic traffic, int rate, Map<Operation, Integer> mix) {
+        this.traffic = traffic;
+        this.rate = rate;
+        this.weighted = mix.entrySet().stream()
+                .flatMap(entry -> Collections.nCopies(entry.getValue(), entry.getKey()).stream())
+                .toArray(Operation[]::new);
+        mix.keySet().forEach(operation -> stats.put(operation, new Stats()));
+    }
+
+    void warmUp(Duration duration) throws InterruptedException {
+        recording = false;
+        run(duration);
+    }
+
+    void measure(Duration duration) throws InterruptedException {
+        stats.values().forEach(Stats::reset);
+        recording = true;
+        run(duration);
+        recording = false;
+    }
+
+    private void run(Duration duration) throws InterruptedException {
+        long interval = TimeUnit.SECONDS.toNanos(1) / rate;
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        for (long i = 0; ; i++) {
+            long intended = start + i * interval;
+            if (intended >= end) {
+                break;
+            }
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            // Задержка отсчитывается от запланированного времени отправки, чтобы зависший стенд не прятался
+            // за снизившимся темпом запросов (coordinated omission).
+            dispatch(weighted[ThreadLocalRandom.current().nextInt(weighted.length)], intended);
+        }
+        drain();
+    }
+
+    private void dispatch(Operation operation, long intended) {
+        Stats operationStats = stats.get(operation);
+        CompletableFuture<HttpResponse<String>> response = traffic.send(operation);
+        if (response == null) {
+            operationStats.skipped.incrementAndGet();
+            return;
+        }
+        inFlight.incrementAndGet();
+        response.whenComplete((result, error) -> {
+            long latency = System.nanoTime() - intended;
+            if (recording) {
+                operationStats.latency.recordValue(TimeUnit.NANOSECONDS.toMicros(latency));
+                if (error != null || result.statusCode() >= 400) {
+                    operationStats.errors.incrementAndGet();
+                }
+            }
+            inFlight.decrementAndGet();
+        });
+    }
+
+    private void drain() throws InterruptedException {
+        long deadline = System.nanoTime() + DRAIN_TIMEOUT.toNanos();
+        while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    void report(Duration measured, PrintStream out) {
+        double seconds = measured.toNanos() / 1e9;
+        out.printf(Locale.ROOT, "Offered rate %d req/s, measured %.1f s%n", rate, seconds);
+        out.printf(Locale.ROOT, "%-26s %8s %7s %7s %9s %9s %9s %9s %9s %9s%n", "endpoint", "count", "errors",
+                "skipped", "req/s", "p50 ms", "p95 ms", "p99 ms", "p99.9 ms", "max ms");
+        Histogram total = new Histogram(3);
+        long totalErrors = 0;
+        long totalSkipped = 0;
+        for (Map.Entry<Operation, Stats> entry : stats.entrySet()) {
+            Stats operationStats = entry.getValue();
+            Histogram latency = operationStats.latency.copy();
+            total.add(latency);
+            totalErrors += operationStats.errors.get();
+            totalSkipped += operationStats.skipped.get();
+            printRow(out, entry.getKey().endpoint, latency, operationStats.errors.get(),
+                    operationStats.skipped.get(), seconds);
+        }
+        printRow(out, "TOTAL", total, totalErrors, totalSkipped, seconds);
+    }
+
+    void writeHistograms(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        for (Map.Entry<Operation, Stats> entry : stats.entrySet()) {
+            try (PrintStream out = new PrintStream(Files.newOutputStream(
+                    directory.resolve(entry.getKey().name + ".hgrm")))) {
+                entry.getValue().latency.copy().outputPercentileDistribution(out, 1000.0);
+            }
+        }
+        try (PrintWriter csv = new PrintWriter(Files.newBufferedWriter(directory.resolve("summary.csv")))) {
+            csv.println("operation,count,errors,skipped,p50_us,p95_us,p99_us,p999_us,max_us");
+            for (Map.Entry<Operation, Stats> entry : stats.entrySet()) {
+                Stats operationStats = entry.getValue();
+                Histogram latency = operationStats.latency.copy();
+                csv.printf(Locale.ROOT, "%s,%d,%d,%d,%d,%d,%d,%d,%d%n", entry.getKey().name,
+                        latency.getTotalCount(), operationStats.errors.get(), operationStats.skipped.get(),
+                        latency.getValueAtPercentile(50), latency.getValueAtPercentile(95),
+                        latency.getValueAtPercentile(99), latency.getValueAtPercentile(99.9),
+                        latency.getMaxValue());
+            }
+        }
+    }
+
+    private static void printRow(PrintStream out, String endpoint, Histogram latency, long errors, long skipped,
+                                 double seconds) {
+        out.printf(Locale.ROOT, "%-26s %8d %7d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n", endpoint,
+                latency.getTotalCount(), errors, skipped, latency.getTotalCount() / seconds,
+                millis(latency.getValueAtPercentile(50)), millis(latency.getValueAtPercentile(95)),
+                millis(latency.getValueAtPercentile(99)), millis(latency.getValueAtPercentile(99.9)),
+                millis(latency.getMaxValue()));
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    private static final class Stats {
+        final ConcurrentHistogram latency = new ConcurrentHistogram(3);
+        final AtomicLong errors = new AtomicLong();
+        final AtomicLong skipped = new AtomicLong();
+
+        void reset() {
+            latency.reset();
+            errors.set(0);
+            skipped.set(0);
+        }
+    }
+}
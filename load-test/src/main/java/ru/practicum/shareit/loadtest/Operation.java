@@ -0,0 +1,28 @@
+package ru.practicum.shareit.loadtest;
+
+import java.util.Arrays;
+
+enum Operation {
+    CREATE_USER("create-user", "POST /users"),
+    CREATE_ITEM("create-item", "POST /items"),
+    CREATE_BOOKING("create-booking", "POST /bookings"),
+    APPROVE("approve", "PATCH /bookings/{id}"),
+    OWNER_BOOKINGS("owner-bookings", "GET /bookings/owner"),
+    SEARCH("search", "GET /items/search"),
+    COMMENT("comment", "POST /items/{id}/comment");
+
+    final String name;
+    final String endpoint;
+
+    Operation(String name, String endpoint) {
+        this.name = name;
+        this.endpoint = endpoint;
+    }
+
+    static Operation byName(String name) {
+        return Arrays.stream(values())
+                .filter(operation -> operation.name.equals(name))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown operation " + name));
+    }
+}
@@ -0,0 +1,122 @@
+package ru.practicum.shareit.loadtest;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+final class ShareItStack implements AutoCloseable {
+    private static final String JAR_LAUNCHER = "org.springframework.boot.loader.launch.JarLauncher";
+    private static final Duration STARTUP_TIMEOUT = Duration.ofSeconds(120);
+
+    private final LoadTestConfig config;
+    private final List<Process> processes = new ArrayList<>();
+
+    ShareItStack(LoadTestConfig config) {
+        this.config = config;
+    }
+
+    URI gatewayUri() {
+        return URI.create("http://localhost:" + config.gatewayPort);
+    }
+
+    void start() throws IOException, InterruptedException {
+        Files.createDirectories(config.workDir);
+        requireJar(config.serverJar);
+        requireJar(config.gatewayJar);
+        requireJar(config.h2Jar);
+
+        // В jar сервера нет H2, поэтому драйвер добавляется в classpath загрузчика Spring Boot.
+        List<String> server = new ArrayList<>(List.of(javaBinary(), "-cp",
+                config.serverJar + File.pathSeparator + config.h2Jar, JAR_LAUNCHER,
+                "--server.port=" + config.serverPort,
+                "--spring.datasource.url=jdbc:h2:mem:shareit;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driverClassName=org.h2.Driver",
+                "--spring.datasource.username=shareit",
+                "--spring.datasource.password=shareit",
+                "--spring.threads.virtual.enabled=" + config.virtualThreads,
+                "--logging.level.root=WARN",
+                "--logging.level.ru.practicum.shareit=WARN",
+                "--logging.level.org.zalando.logbook=WARN",
+                "--logging.level.org.hibernate.SQL=WARN",
+                "--logging.level.org.hibernate.orm.jbdc.bind=WARN",
+                "--logging.level.org.springframework.transaction=WARN",
+                "--logging.level.org.springframework.transaction.interceptor=WARN",
+                "--logging.level.org.springframework.orm.jpa=WARN",
+                "--logging.level.org.springframework.orm.jpa.JpaTransactionManager=WARN"));
+        launch(server, "server");
+        awaitHealthy(config.serverPort, "server");
+
+        List<String> gateway = List.of(javaBinary(), "-jar", config.gatewayJar.toString(),
+                "--server.port=" + config.gatewayPort,
+                "--shareit-server.url=http://localhost:" + config.serverPort,
+                "--spring.threads.virtual.enabled=" + config.virtualThreads,
+                "--logging.level.root=WARN",
+                "--logging.level.org.springframework.web.client.RestTemplate=WARN");
+        launch(gateway, "gateway");
+        awaitHealthy(config.gatewayPort, "gateway");
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        for (int i = processes.size() - 1; i >= 0; i--) {
+            Process process = processes.get(i);
+            process.destroy();
+            if (!process.waitFor(15, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    private void launch(List<String> command, String name) throws IOException {
+        Path log = config.workDir.resolve(name + ".log");
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        processes.add(process);
+        System.out.printf("Started %s (pid %d), log: %s%n", name, process.pid(), log);
+    }
+
+    private void awaitHealthy(int port, String name) throws InterruptedException {
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+        HttpRequest health = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/actuator/health"))
+                .timeout(Duration.ofSeconds(2))
+                .build();
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (processes.get(processes.size() - 1).isAlive()) {
+                try {
+                    if (client.send(health, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        return;
+                    }
+                } catch (IOException e) {
+                    // порт ещё не открыт
+                }
+            } else {
+                throw new IllegalStateException(name + " exited during startup, see " + config.workDir);
+            }
+            Thread.sleep(500);
+        }
+        throw new IllegalStateException(name + " did not become healthy within " + STARTUP_TIMEOUT);
+    }
+
+    private static void requireJar(Path jar) {
+        if (!Files.isRegularFile(jar)) {
+            throw new IllegalStateException("Missing " + jar.toAbsolutePath()
+                    + ", build it first with: mvn -B -P load-test package -DskipTests");
+        }
+    }
+
+    private static String javaBinary() {
+        return Path.of(System.getProperty("java.home"), "bin", "java").toString();
+    }
+}
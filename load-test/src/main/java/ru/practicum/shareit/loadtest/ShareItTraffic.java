@@ -0,0 +1,219 @@
+package ru.practicum.shareit.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongConsumer;
+
+final class ShareItTraffic {
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final String[] SEARCH_TERMS = {"дрель", "пила", "лестница", "палатка", "велосипед"};
+
+    private final HttpClient http = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .executor(Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), runnable -> {
+                Thread thread = new Thread(runnable, "load-test-http");
+                thread.setDaemon(true);
+                return thread;
+            }))
+            .build();
+    private final ObjectMapper json = new ObjectMapper();
+    private final URI gateway;
+
+    private final List<Long> users = new CopyOnWriteArrayList<>();
+    private final List<OwnedItem> items = new CopyOnWriteArrayList<>();
+    private final List<OwnedItem> commentable = new CopyOnWriteArrayList<>();
+    private final Queue<PendingBooking> pendingBookings = new ConcurrentLinkedQueue<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final LocalDateTime slotBase = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.HOURS);
+
+    ShareItTraffic(URI gateway) {
+        this.gateway = gateway;
+    }
+
+    void seed(int userCount, int itemCount) throws IOException, InterruptedException {
+        for (int i = 0; i < userCount; i++) {
+            users.add(id(http.send(createUser(), HttpResponse.BodyHandlers.ofString())));
+        }
+        for (int i = 0; i < itemCount; i++) {
+            long owner = users.get(i % users.size());
+            items.add(new OwnedItem(id(http.send(createItem(owner), HttpResponse.BodyHandlers.ofString())), owner));
+        }
+        // Для комментария нужно завершённое подтверждённое бронирование, а API принимает только будущие даты,
+        // поэтому части вещей выдаётся короткое бронирование, которое закончится до начала замера.
+        LocalDateTime start = LocalDateTime.now().plusSeconds(2);
+        LocalDateTime end = start.plusSeconds(1);
+        for (int i = 0; i < Math.min(itemCount, userCount); i++) {
+            OwnedItem item = items.get(i);
+            long booker = otherUser(item.ownerId());
+            long bookingId = id(http.send(createBooking(booker, item.id(), start, end),
+                    HttpResponse.BodyHandlers.ofString()));
+            check(http.send(approve(item.ownerId(), bookingId), HttpResponse.BodyHandlers.ofString()));
+            commentable.add(new OwnedItem(item.id(), booker));
+        }
+        long untilEnded = Duration.between(LocalDateTime.now(), end).toMillis();
+        if (untilEnded > 0) {
+            Thread.sleep(untilEnded + 100);
+        }
+        System.out.printf("Seeded %d users, %d items, %d commentable items%n", users.size(), items.size(),
+                commentable.size());
+    }
+
+    CompletableFuture<HttpResponse<String>> send(Operation operation) {
+        Call call = call(operation);
+        if (call == null) {
+            return null;
+        }
+        CompletableFuture<HttpResponse<String>> response = http.sendAsync(call.request(),
+                HttpResponse.BodyHandlers.ofString());
+        return call.onCreated() == null ? response : response.thenApply(r -> remember(r, call.onCreated()));
+    }
+
+    private Call call(Operation operation) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        switch (operation) {
+            case CREATE_USER:
+                return new Call(createUser(), users::add);
+            case CREATE_ITEM: {
+                long ownerId = randomUser();
+                return new Call(createItem(ownerId), id -> items.add(new OwnedItem(id, ownerId)));
+            }
+            case CREATE_BOOKING: {
+                OwnedItem item = items.get(random.nextInt(items.size()));
+                // Каждое бронирование получает свой час, чтобы проверка пересечений не отклоняла запросы.
+                LocalDateTime start = slotBase.plusHours(2 * sequence.incrementAndGet());
+                return new Call(createBooking(otherUser(item.ownerId()), item.id(), start, start.plusHours(1)),
+                        id -> pendingBookings.add(new PendingBooking(id, item.ownerId())));
+            }
+            case APPROVE: {
+                PendingBooking booking = pendingBookings.poll();
+                return booking == null ? null : new Call(approve(booking.ownerId(), booking.id()), null);
+            }
+            case OWNER_BOOKINGS:
+                return new Call(get("/bookings/owner?state=ALL&size=20", randomUser()), null);
+            case SEARCH: {
+                String text = URLEncoder.encode(SEARCH_TERMS[random.nextInt(SEARCH_TERMS.length)],
+                        StandardCharsets.UTF_8);
+                return new Call(get("/items/search?text=" + text, randomUser()), null);
+            }
+            case COMMENT: {
+                OwnedItem booked = commentable.get(random.nextInt(commentable.size()));
+                return new Call(post("/items/" + booked.id() + "/comment", booked.ownerId(),
+                        Map.of("text", "Отличная вещь " + sequence.incrementAndGet())), null);
+            }
+            default:
+                throw new IllegalArgumentException("Unsupported operation " + operation);
+        }
+    }
+
+    private HttpRequest createUser() {
+        long n = sequence.incrementAndGet();
+        return post("/users", null, Map.of("name", "user" + n, "email", "user" + n + "-" + System.nanoTime()
+                + "@load.test"));
+    }
+
+    private HttpRequest createItem(long ownerId) {
+        String name = SEARCH_TERMS[(int) (sequence.incrementAndGet() % SEARCH_TERMS.length)];
+        return post("/items", ownerId, Map.of("name", name + " " + sequence.get(),
+                "description", "Вещь для нагрузочного теста: " + name, "available", true));
+    }
+
+    private HttpRequest createBooking(long bookerId, long itemId, LocalDateTime start, LocalDateTime end) {
+        return post("/bookings", bookerId, Map.of("itemId", itemId, "start", start.toString(),
+                "end", end.toString()));
+    }
+
+    private HttpRequest approve(long ownerId, long bookingId) {
+        return HttpRequest.newBuilder(gateway.resolve("/bookings/" + bookingId + "?approved=true"))
+                .timeout(REQUEST_TIMEOUT)
+                .header(USER_HEADER, String.valueOf(ownerId))
+                .method("PATCH", HttpRequest.BodyPublishers.noBody())
+                .build();
+    }
+
+    private HttpRequest get(String path, long userId) {
+        return HttpRequest.newBuilder(gateway.resolve(path))
+                .timeout(REQUEST_TIMEOUT)
+                .header(USER_HEADER, String.valueOf(userId))
+                .GET()
+                .build();
+    }
+
+    private HttpRequest post(String path, Long userId, Map<String, Object> body) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(gateway.resolve(path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json");
+        if (userId != null) {
+            builder.header(USER_HEADER, String.valueOf(userId));
+        }
+        try {
+            return builder.POST(HttpRequest.BodyPublishers.ofString(json.writeValueAsString(body))).build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private long randomUser() {
+        return users.get(ThreadLocalRandom.current().nextInt(users.size()));
+    }
+
+    private long otherUser(long userId) {
+        long other;
+        do {
+            other = randomUser();
+        } while (other == userId);
+        return other;
+    }
+
+    private HttpResponse<String> remember(HttpResponse<String> response, LongConsumer sink) {
+        if (response.statusCode() < 300) {
+            sink.accept(id(response));
+        }
+        return response;
+    }
+
+    private long id(HttpResponse<String> response) {
+        check(response);
+        try {
+            return json.readTree(response.body()).get("id").asLong();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unexpected response " + response.body(), e);
+        }
+    }
+
+    private static void check(HttpResponse<String> response) {
+        if (response.statusCode() >= 300) {
+            throw new IllegalStateException(response.request().method() + " " + response.uri() + " returned "
+                    + response.statusCode() + ": " + response.body());
+        }
+    }
+
+    private record Call(HttpRequest request, LongConsumer onCreated) {
+    }
+
+    private record OwnedItem(long id, long ownerId) {
+    }
+
+    private record PendingBooking(long id, long ownerId) {
+    }
+}
@@ -7,16 +7,21 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingPageDto;
+import ru.practicum.shareit.booking.dto.BookingSummaryDto;
 import ru.practicum.shareit.booking.dto.StateDto;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.pagination.PageResponse;
 
 import java.util.Collection;
+import java.util.List;
 
 @RestController
 @Slf4j
 @RequiredArgsConstructor
 @RequestMapping(path = "/bookings")
 public class BookingController {
+
     private final BookingService bookingService;
 
     @PostMapping
@@ -28,6 +33,16 @@ public class BookingController {
         return ResponseEntity.ok().body(booking);
     }
 
+    @PostMapping("/batch")
+    @ResponseStatus(HttpStatus.CREATED)
+    public ResponseEntity<List<BookingDto>> bookingItems(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                         @RequestBody List<@Valid BookingDto> bookingDtos) {
+        log.info("Получен POST-запрос к /bookings/batch с userId = {} и {} бронированиями", userId,
+                bookingDtos.size());
+        List<BookingDto> bookings = bookingService.createBookings(userId, bookingDtos);
+        return ResponseEntity.ok().body(bookings);
+    }
+
     @PatchMapping("/{bookingId}")
     public ResponseEntity<BookingDto> approveBooking(@RequestHeader("X-Sharer-User-Id") Long userId,
                                                      @RequestParam(required = true) Boolean approved,
@@ -48,18 +63,36 @@ public class BookingController {
 
     @GetMapping
     public ResponseEntity<Collection<BookingDto>> findByBookerId(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                                                 @RequestParam(defaultValue = "ALL", required = false) StateDto stateDto) {
-        log.info("Получен GET-запрос к /bookings с userId = {} и с stateDto = {}", userId, stateDto);
-        Collection<BookingDto> bookings = bookingService.findByBookerId(userId, stateDto);
-        return ResponseEntity.ok().body(bookings);
+                                                                 @RequestParam(name = "state", defaultValue = "ALL", required = false) StateDto stateDto,
+                                                                 @RequestParam(required = false) String pageToken,
+                                                                 @RequestParam(defaultValue = "10") int size) {
+        log.info("Получен GET-запрос к /bookings с userId = {}, stateDto = {}, pageToken = {} и size = {}",
+                userId, stateDto, pageToken, size);
+        BookingPageDto bookings = bookingService.findByBookerId(userId, stateDto, pageToken, size);
+        return PageResponse.of(bookings.getBookings(), bookings.getNextPageToken());
     }
 
 
     @GetMapping("/owner")
     public ResponseEntity<Collection<BookingDto>> findByOwnerId(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                                                @RequestParam(defaultValue = "ALL", required = false) StateDto stateDto) {
-        log.info("Получен GET-запрос к /bookings/owner с userId = {} и с stateDto = {}", userId, stateDto);
-        Collection<BookingDto> bookings = bookingService.findByOwnerId(userId, stateDto);
-        return ResponseEntity.ok().body(bookings);
+                                                                @RequestParam(name = "state", defaultValue = "ALL", required = false) StateDto stateDto,
+                                                                @RequestParam(required = false) String pageToken,
+                                                                @RequestParam(defaultValue = "10") int size) {
+        log.info("Получен GET-запрос к /bookings/owner с userId = {}, stateDto = {}, pageToken = {} и size = {}",
+                userId, stateDto, pageToken, size);
+        BookingPageDto bookings = bookingService.findByOwnerId(userId, stateDto, pageToken, size);
+        return PageResponse.of(bookings.getBookings(), bookings.getNextPageToken());
+    }
+
+    @GetMapping("/summary")
+    public ResponseEntity<BookingSummaryDto> getBookerSummary(@RequestHeader("X-Sharer-User-Id") Long userId) {
+        log.info("Получен GET-запрос к /bookings/summary с userId = {}", userId);
+        return ResponseEntity.ok().body(bookingService.getBookerSummary(userId));
+    }
+
+    @GetMapping("/owner/summary")
+    public ResponseEntity<BookingSummaryDto> getOwnerSummary(@RequestHeader("X-Sharer-User-Id") Long userId) {
+        log.info("Получен GET-запрос к /bookings/owner/summary с userId = {}", userId);
+        return ResponseEntity.ok().body(bookingService.getOwnerSummary(userId));
     }
 }
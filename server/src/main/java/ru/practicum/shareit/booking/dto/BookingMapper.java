@@ -1,7 +1,9 @@
 package ru.practicum.shareit.booking.dto;
 
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import org.mapstruct.factory.Mappers;
+import ru.practicum.shareit.booking.model.ArchivedBooking;
 import ru.practicum.shareit.booking.model.Booking;
 
 @Mapper
@@ -11,4 +13,15 @@ public interface BookingMapper {
     Booking toBooking(BookingDto bookingDto);
 
     BookingDto toBookingDto(Booking booking);
+
+    BookingDto toBookingDto(ArchivedBooking booking);
+
+    @Mapping(target = "item.id", source = "itemId")
+    @Mapping(target = "item.name", source = "itemName")
+    @Mapping(target = "item.description", source = "itemDescription")
+    @Mapping(target = "item.available", source = "itemAvailable")
+    @Mapping(target = "booker.id", source = "bookerId")
+    @Mapping(target = "booker.name", source = "bookerName")
+    @Mapping(target = "booker.email", source = "bookerEmail")
+    BookingDto toBookingDto(BookingViewDto bookingView);
 }
@@ -0,0 +1,34 @@
+package ru.practicum.shareit.booking.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Entity
+@Immutable
+@NoArgsConstructor
+@Table(name = "bookings_archive")
+@EqualsAndHashCode(of = {"id"})
+public class ArchivedBooking {
+    @Id
+    private Long id;
+    @Column(name = "start_date")
+    private LocalDateTime start;
+    @Column(name = "end_date")
+    private LocalDateTime end;
+    @ManyToOne(fetch = FetchType.LAZY, optional = false, targetEntity = Item.class)
+    @JoinColumn(name = "item_id", referencedColumnName = "id")
+    private Item item;
+    @ManyToOne(fetch = FetchType.LAZY, optional = false, targetEntity = User.class)
+    @JoinColumn(name = "booker_id", referencedColumnName = "id")
+    private User booker;
+    @Enumerated(EnumType.STRING)
+    private BookingStatus status;
+    @Column(name = "archived_at")
+    private LocalDateTime archivedAt;
+}
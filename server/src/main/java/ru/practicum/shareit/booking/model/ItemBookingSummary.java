@@ -0,0 +1,31 @@
+package ru.practicum.shareit.booking.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "item_booking_summaries")
+@EqualsAndHashCode(of = {"itemId"})
+public class ItemBookingSummary {
+    @Id
+    @Column(name = "item_id")
+    private Long itemId;
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "last_booking_id", referencedColumnName = "id")
+    private Booking lastBooking;
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "next_booking_id", referencedColumnName = "id")
+    private Booking nextBooking;
+    @Column(name = "valid_until")
+    private LocalDateTime validUntil;
+
+    public boolean isExpired(LocalDateTime now) {
+        return validUntil != null && !validUntil.isAfter(now);
+    }
+}
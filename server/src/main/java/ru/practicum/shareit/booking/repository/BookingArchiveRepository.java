@@ -0,0 +1,26 @@
+package ru.practicum.shareit.booking.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.booking.model.ArchivedBooking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface BookingArchiveRepository extends JpaRepository<ArchivedBooking, Long> {
+
+    List<ArchivedBooking> findByBookerAndItemAndStatusAndEndBefore(
+            User booker, Item item, BookingStatus status, LocalDateTime end);
+
+    @Modifying
+    @Query(value = "INSERT INTO bookings_archive (id, start_date, end_date, booker_id, item_id, status, archived_at) " +
+            "SELECT id, start_date, end_date, booker_id, item_id, status, :archivedAt FROM bookings " +
+            "WHERE id IN :ids", nativeQuery = true)
+    int copyFromBookings(@Param("ids") Collection<Long> ids, @Param("archivedAt") LocalDateTime archivedAt);
+}
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.booking.repository;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -9,49 +10,66 @@ import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
-import java.util.Optional;
 
-public interface BookingRepository extends JpaRepository<Booking, Long> {
+public interface BookingRepository extends JpaRepository<Booking, Long>, BookingViewRepository {
 
-    Optional<Booking> findFirstByItemAndStatusAndStartAfterOrderByStart(
-            Item item, BookingStatus status, LocalDateTime start);
-
-    List<Booking> findAllByBookerIdOrderByStartDesc(Long bookerId);
-
-    List<Booking> findAllByBookerIdAndStatusOrderByStartDesc(Long bookerId, BookingStatus status);
-
-    List<Booking> findAllByBookerIdAndStatusAndStartBeforeAndEndAfterOrderByStartDesc(
-            Long bookerId, BookingStatus status, LocalDateTime start, LocalDateTime end);
-
-    List<Booking> findAllByBookerIdAndStatusAndStartAfterOrderByStartDesc(
-            Long bookerId, BookingStatus status, LocalDateTime start);
-
-    List<Booking> findAllByBookerIdAndStatusAndEndBeforeOrderByStartDesc(
-            Long bookerId, BookingStatus status, LocalDateTime end);
-
-    List<Booking> findAllByItemOwnerIdOrderByStartDesc(Long ownerId);
-
-    List<Booking> findAllByItemOwnerIdAndStatusOrderByStartDesc(Long ownerId, BookingStatus status);
-
-    List<Booking> findAllByItemOwnerIdAndStatusAndStartBeforeAndEndAfterOrderByStartDesc(
-            Long ownerId, BookingStatus status, LocalDateTime start, LocalDateTime end);
-
-    List<Booking> findAllByItemOwnerIdAndStatusAndStartAfterOrderByStartDesc(
-            Long ownerId, BookingStatus status, LocalDateTime start);
-
-    List<Booking> findAllByItemOwnerIdAndStatusAndEndBeforeOrderByStartDesc(
-            Long ownerId, BookingStatus status, LocalDateTime end);
+    List<Booking> findAllByItemIdAndStatusInAndEndAfter(Long itemId, Collection<BookingStatus> statuses,
+                                                        LocalDateTime end);
 
     List<Booking> findByBookerAndItemAndStatusAndEndBefore(
             User booker, Item item, BookingStatus status, LocalDateTime end);
 
     @Query("SELECT b FROM Booking b " +
-            "WHERE (b.item = :item) " +
-            "AND (b.status = :status) " +
-            "AND (b.end < :now)" +
-            "ORDER BY b.end DESC")
-    List<Booking> findFirstByItemAndStatusEndBefore(@Param("item") Item item,
+            "JOIN FETCH b.item " +
+            "JOIN FETCH b.booker " +
+            "WHERE b.item.id IN :itemIds " +
+            "AND b.status = :status " +
+            "AND b.end < :now " +
+            "AND b.end = (SELECT MAX(lb.end) FROM Booking lb " +
+            "WHERE lb.item = b.item AND lb.status = :status AND lb.end < :now)")
+    List<Booking> findLastBookingsByItemIds(@Param("itemIds") Collection<Long> itemIds,
+                                            @Param("status") BookingStatus status,
+                                            @Param("now") LocalDateTime now);
+
+    @Query("SELECT b FROM Booking b " +
+            "JOIN FETCH b.item " +
+            "JOIN FETCH b.booker " +
+            "WHERE b.item.id IN :itemIds " +
+            "AND b.status = :status " +
+            "AND b.start > :now " +
+            "AND b.start = (SELECT MIN(nb.start) FROM Booking nb " +
+            "WHERE nb.item = b.item AND nb.status = :status AND nb.start > :now)")
+    List<Booking> findNextBookingsByItemIds(@Param("itemIds") Collection<Long> itemIds,
+                                            @Param("status") BookingStatus status,
+                                            @Param("now") LocalDateTime now);
+
+    @Query("SELECT b.item.id AS itemId, MIN(b.end) AS earliestEnd FROM Booking b " +
+            "WHERE b.item.id IN :itemIds " +
+            "AND b.status = :status " +
+            "AND b.end > :after " +
+            "GROUP BY b.item.id")
+    List<ItemEarliestEnd> findEarliestEndsByItemIds(@Param("itemIds") Collection<Long> itemIds,
                                                     @Param("status") BookingStatus status,
-                                                    @Param("now") LocalDateTime now);
-}
\ No newline at end of file
+                                                    @Param("after") LocalDateTime after);
+
+    // Самое позднее завершённое до границы подтверждённое бронирование вещи остаётся в горячей таблице:
+    // оно может оказаться последним бронированием в сводке вещи.
+    @Query("SELECT b.id FROM Booking b " +
+            "WHERE b.end < :cutoff " +
+            "AND b.status IN (:approved, :rejected) " +
+            "AND NOT (b.status = :approved AND b.end = (SELECT MAX(lb.end) FROM Booking lb " +
+            "WHERE lb.item = b.item AND lb.status = :approved AND lb.end < :cutoff)) " +
+            "ORDER BY b.end")
+    List<Long> findArchivableIds(@Param("cutoff") LocalDateTime cutoff,
+                                 @Param("approved") BookingStatus approved,
+                                 @Param("rejected") BookingStatus rejected,
+                                 Limit limit);
+
+    interface ItemEarliestEnd {
+        Long getItemId();
+
+        LocalDateTime getEarliestEnd();
+    }
+}
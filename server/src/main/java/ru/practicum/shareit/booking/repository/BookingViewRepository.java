@@ -0,0 +1,20 @@
+package ru.practicum.shareit.booking.repository;
+
+import ru.practicum.shareit.booking.dto.BookingSummaryDto;
+import ru.practicum.shareit.booking.dto.BookingViewDto;
+import ru.practicum.shareit.booking.dto.StateDto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface BookingViewRepository {
+    List<BookingViewDto> findBookerBookingViews(Long bookerId, StateDto state, LocalDateTime now,
+                                                LocalDateTime afterStart, Long afterId, int limit);
+
+    List<BookingViewDto> findOwnerBookingViews(Long ownerId, StateDto state, LocalDateTime now,
+                                               LocalDateTime afterStart, Long afterId, int limit);
+
+    BookingSummaryDto summarizeBookerBookings(Long bookerId, LocalDateTime now);
+
+    BookingSummaryDto summarizeOwnerBookings(Long ownerId, LocalDateTime now);
+}
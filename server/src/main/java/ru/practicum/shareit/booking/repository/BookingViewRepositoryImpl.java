@@ -0,0 +1,149 @@
+package ru.practicum.shareit.booking.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import lombok.RequiredArgsConstructor;
+import ru.practicum.shareit.booking.dto.BookingSummaryDto;
+import ru.practicum.shareit.booking.dto.BookingViewDto;
+import ru.practicum.shareit.booking.dto.StateDto;
+import ru.practicum.shareit.booking.model.BookingStatus;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+@RequiredArgsConstructor
+public class BookingViewRepositoryImpl implements BookingViewRepository {
+    private static final String HOT = "Booking";
+    private static final String ARCHIVE = "ArchivedBooking";
+    private static final Comparator<BookingViewDto> NEWEST_FIRST = Comparator
+            .comparing(BookingViewDto::getStart)
+            .thenComparing(BookingViewDto::getId)
+            .reversed();
+    private static final String SELECT_VIEWS = "SELECT new ru.practicum.shareit.booking.dto.BookingViewDto(" +
+            "b.id, b.start, b.end, b.status, i.id, i.name, i.description, i.available, u.id, u.name, u.email) " +
+            "FROM %s b " +
+            "JOIN b.item i " +
+            "JOIN b.booker u ";
+    // Счётчики по всем состояниям одним запросом; границы CURRENT/PAST/FUTURE совпадают с findViews.
+    private static final String SELECT_SUMMARY = "SELECT new ru.practicum.shareit.booking.dto.BookingSummaryDto(" +
+            "COUNT(b), " +
+            "COALESCE(SUM(CASE WHEN b.status = :approved AND b.start < :now AND b.end > :now THEN 1 ELSE 0 END), 0), " +
+            "COALESCE(SUM(CASE WHEN b.status = :approved AND b.end < :now THEN 1 ELSE 0 END), 0), " +
+            "COALESCE(SUM(CASE WHEN b.status = :approved AND b.start > :now THEN 1 ELSE 0 END), 0), " +
+            "COALESCE(SUM(CASE WHEN b.status = :waiting THEN 1 ELSE 0 END), 0), " +
+            "COALESCE(SUM(CASE WHEN b.status = :rejected THEN 1 ELSE 0 END), 0)) " +
+            "FROM %s b ";
+
+    private final EntityManager entityManager;
+
+    @Override
+    public List<BookingViewDto> findBookerBookingViews(Long bookerId, StateDto state, LocalDateTime now,
+                                                       LocalDateTime afterStart, Long afterId, int limit) {
+        return findViews("u.id = :userId", bookerId, state, now, afterStart, afterId, limit);
+    }
+
+    @Override
+    public List<BookingViewDto> findOwnerBookingViews(Long ownerId, StateDto state, LocalDateTime now,
+                                                      LocalDateTime afterStart, Long afterId, int limit) {
+        return findViews("i.owner.id = :userId", ownerId, state, now, afterStart, afterId, limit);
+    }
+
+    @Override
+    public BookingSummaryDto summarizeBookerBookings(Long bookerId, LocalDateTime now) {
+        return summarize("b.booker.id = :userId", bookerId, now);
+    }
+
+    @Override
+    public BookingSummaryDto summarizeOwnerBookings(Long ownerId, LocalDateTime now) {
+        return summarize("b.item.owner.id = :userId", ownerId, now);
+    }
+
+    // В архиве только завершённые подтверждённые и отклонённые бронирования, поэтому его счётчики
+    // добавляются лишь к all, past и rejected.
+    private BookingSummaryDto summarize(String userCondition, Long userId, LocalDateTime now) {
+        BookingSummaryDto hot = summarize(HOT, userCondition, userId, now);
+        BookingSummaryDto archived = summarize(ARCHIVE, userCondition, userId, now);
+        return new BookingSummaryDto(hot.getAll() + archived.getAll(), hot.getCurrent(),
+                hot.getPast() + archived.getPast(), hot.getFuture(), hot.getWaiting(),
+                hot.getRejected() + archived.getRejected());
+    }
+
+    private BookingSummaryDto summarize(String entity, String userCondition, Long userId, LocalDateTime now) {
+        return entityManager.createQuery(SELECT_SUMMARY.formatted(entity) + "WHERE " + userCondition,
+                        BookingSummaryDto.class)
+                .setParameter("userId", userId)
+                .setParameter("now", now)
+                .setParameter("approved", BookingStatus.APPROVED)
+                .setParameter("waiting", BookingStatus.WAITING)
+                .setParameter("rejected", BookingStatus.REJECTED)
+                .getSingleResult();
+    }
+
+    // CURRENT, FUTURE и WAITING не могут оказаться в архиве и читают только горячую таблицу;
+    // для остальных состояний страницы обеих таблиц сливаются в общем порядке без повторов по id.
+    private List<BookingViewDto> findViews(String userCondition, Long userId, StateDto state, LocalDateTime now,
+                                           LocalDateTime afterStart, Long afterId, int limit) {
+        List<BookingViewDto> hot = findViews(HOT, userCondition, userId, state, now, afterStart, afterId, limit);
+        if (state == StateDto.CURRENT || state == StateDto.FUTURE || state == StateDto.WAITING) {
+            return hot;
+        }
+        List<BookingViewDto> archived = findViews(ARCHIVE, userCondition, userId, state, now, afterStart, afterId,
+                limit);
+        if (archived.isEmpty()) {
+            return hot;
+        }
+        Map<Long, BookingViewDto> merged = new LinkedHashMap<>();
+        Stream.concat(hot.stream(), archived.stream())
+                .sorted(NEWEST_FIRST)
+                .forEach(view -> merged.putIfAbsent(view.getId(), view));
+        return merged.values().stream()
+                .limit(limit)
+                .toList();
+    }
+
+    private List<BookingViewDto> findViews(String entity, String userCondition, Long userId, StateDto state,
+                                           LocalDateTime now, LocalDateTime afterStart, Long afterId, int limit) {
+        StringBuilder jpql = new StringBuilder(SELECT_VIEWS.formatted(entity))
+                .append("WHERE ").append(userCondition);
+        BookingStatus status = switch (state) {
+            case ALL -> null;
+            case WAITING -> BookingStatus.WAITING;
+            case REJECTED -> BookingStatus.REJECTED;
+            case CURRENT, PAST, FUTURE -> BookingStatus.APPROVED;
+        };
+        if (status != null) {
+            jpql.append(" AND b.status = :status");
+        }
+        switch (state) {
+            case CURRENT -> jpql.append(" AND b.start < :now AND b.end > :now");
+            case PAST -> jpql.append(" AND b.end < :now");
+            case FUTURE -> jpql.append(" AND b.start > :now");
+            default -> {
+            }
+        }
+        boolean afterCursor = afterStart != null && afterId != null;
+        if (afterCursor) {
+            jpql.append(" AND (b.start < :afterStart OR (b.start = :afterStart AND b.id < :afterId))");
+        }
+        jpql.append(" ORDER BY b.start DESC, b.id DESC");
+
+        TypedQuery<BookingViewDto> query = entityManager.createQuery(jpql.toString(), BookingViewDto.class)
+                .setParameter("userId", userId)
+                .setMaxResults(limit);
+        if (status != null) {
+            query.setParameter("status", status);
+        }
+        if (state == StateDto.CURRENT || state == StateDto.PAST || state == StateDto.FUTURE) {
+            query.setParameter("now", now);
+        }
+        if (afterCursor) {
+            query.setParameter("afterStart", afterStart)
+                    .setParameter("afterId", afterId);
+        }
+        return query.getResultList();
+    }
+}
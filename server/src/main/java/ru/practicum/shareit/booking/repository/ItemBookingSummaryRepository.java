@@ -0,0 +1,29 @@
+package ru.practicum.shareit.booking.repository;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.booking.model.ItemBookingSummary;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface ItemBookingSummaryRepository extends JpaRepository<ItemBookingSummary, Long> {
+
+    @Query("SELECT s FROM ItemBookingSummary s " +
+            "LEFT JOIN FETCH s.lastBooking lb " +
+            "LEFT JOIN FETCH lb.booker " +
+            "LEFT JOIN FETCH lb.item " +
+            "LEFT JOIN FETCH s.nextBooking nb " +
+            "LEFT JOIN FETCH nb.booker " +
+            "LEFT JOIN FETCH nb.item " +
+            "WHERE s.itemId IN :itemIds")
+    List<ItemBookingSummary> findAllWithBookingsByItemIdIn(@Param("itemIds") Collection<Long> itemIds);
+
+    @Query("SELECT s.itemId FROM ItemBookingSummary s " +
+            "WHERE s.validUntil <= :now " +
+            "ORDER BY s.validUntil")
+    List<Long> findExpiredItemIds(@Param("now") LocalDateTime now, Limit limit);
+}
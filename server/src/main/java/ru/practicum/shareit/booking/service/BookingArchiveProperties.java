@@ -0,0 +1,16 @@
+package ru.practicum.shareit.booking.service;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit.booking-archive")
+public class BookingArchiveProperties {
+    private Duration horizon = Duration.ofDays(30);
+    private int batchSize = 500;
+    private Duration pause = Duration.ofMillis(200);
+}
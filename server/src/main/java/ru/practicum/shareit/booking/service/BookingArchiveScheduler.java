@@ -0,0 +1,44 @@
+package ru.practicum.shareit.booking.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@EnableConfigurationProperties(BookingArchiveProperties.class)
+public class BookingArchiveScheduler {
+    private final BookingArchiveService archiveService;
+    private final BookingArchiveProperties properties;
+
+    @Scheduled(fixedDelayString = "${shareit.booking-archive.interval:PT10M}",
+            initialDelayString = "${shareit.booking-archive.interval:PT10M}")
+    public void archiveCompleted() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(properties.getHorizon());
+        int archived = 0;
+        int batch;
+        do {
+            batch = archiveService.archiveBatch(cutoff, properties.getBatchSize());
+            archived += batch;
+        } while (batch == properties.getBatchSize() && pause());
+        if (archived > 0) {
+            log.info("В архив перенесено {} бронирований, завершённых до {}", archived, cutoff);
+        }
+    }
+
+    // Пауза между пачками оставляет базу живому трафику.
+    private boolean pause() {
+        try {
+            Thread.sleep(properties.getPause().toMillis());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package ru.practicum.shareit.booking.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingArchiveRepository;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class BookingArchiveService {
+    private final BookingRepository bookingRepository;
+    private final BookingArchiveRepository bookingArchiveRepository;
+
+    // Одна пачка — одна короткая транзакция, чтобы не держать блокировки на горячей таблице.
+    @Transactional
+    public int archiveBatch(LocalDateTime cutoff, int batchSize) {
+        List<Long> ids = bookingRepository.findArchivableIds(cutoff, BookingStatus.APPROVED, BookingStatus.REJECTED,
+                Limit.of(batchSize));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        bookingArchiveRepository.copyFromBookings(ids, LocalDateTime.now());
+        bookingRepository.deleteAllByIdInBatch(ids);
+        return ids.size();
+    }
+}
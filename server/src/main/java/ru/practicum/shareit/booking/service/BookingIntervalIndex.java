@@ -0,0 +1,228 @@
+package ru.practicum.shareit.booking.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.exception.BookingOverlapException;
+import ru.practicum.shareit.item.dto.FreeSlotDto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+@Component
+@RequiredArgsConstructor
+public class BookingIntervalIndex {
+    private static final List<BookingStatus> BLOCKING_STATUSES = List.of(BookingStatus.WAITING, BookingStatus.APPROVED);
+
+    private final BookingRepository bookingRepository;
+
+    private final Map<Long, ItemSchedule> schedules = new ConcurrentHashMap<>();
+
+    public void reserve(Booking booking) {
+        reserveAll(List.of(booking));
+    }
+
+    public void reserveAll(Collection<Booking> bookings) {
+        Map<Long, List<Booking>> bookingsByItem = bookings.stream()
+                .collect(Collectors.groupingBy(booking -> booking.getItem().getId(), LinkedHashMap::new,
+                        Collectors.toList()));
+        Changes changes = currentChanges();
+        bookingsByItem.forEach((itemId, itemBookings) -> {
+            ItemSchedule schedule = lock(itemId);
+            try {
+                for (Booking booking : itemBookings) {
+                    Slot slot = Slot.of(booking);
+                    if (schedule.overlaps(slot)) {
+                        throw new BookingOverlapException("Вещь уже забронирована на выбранное время, id = " + itemId);
+                    }
+                    if (schedule.slots.add(slot) && changes != null) {
+                        changes.reserved(itemId, schedule, slot);
+                    }
+                }
+            } finally {
+                unlock(itemId, schedule);
+            }
+        });
+    }
+
+    public void release(Booking booking) {
+        Long itemId = booking.getItem().getId();
+        Changes changes = currentChanges();
+        ItemSchedule schedule = lock(itemId);
+        try {
+            Slot slot = Slot.of(booking);
+            if (schedule.slots.remove(slot) && changes != null) {
+                changes.released(itemId, schedule, slot);
+            }
+        } finally {
+            unlock(itemId, schedule);
+        }
+    }
+
+    public List<FreeSlotDto> findFreeSlots(Long itemId, LocalDateTime from, LocalDateTime to) {
+        ItemSchedule schedule = lock(itemId);
+        try {
+            List<FreeSlotDto> freeSlots = new ArrayList<>();
+            LocalDateTime cursor = from;
+            Iterator<Slot> busy = schedule.slots.headSet(Slot.probe(to), false).iterator();
+            while (busy.hasNext() && cursor.isBefore(to)) {
+                Slot slot = busy.next();
+                if (!slot.end().isAfter(cursor)) {
+                    continue;
+                }
+                if (slot.start().isAfter(cursor)) {
+                    freeSlots.add(new FreeSlotDto(cursor, slot.start()));
+                }
+                cursor = slot.end();
+            }
+            if (cursor.isBefore(to)) {
+                freeSlots.add(new FreeSlotDto(cursor, to));
+            }
+            return freeSlots;
+        } finally {
+            unlock(itemId, schedule);
+        }
+    }
+
+    // Пустое расписание без незавершённых транзакций удаляется из карты; поток, успевший взять его до удаления,
+    // увидит признак retired и возьмёт новое.
+    private ItemSchedule lock(Long itemId) {
+        while (true) {
+            ItemSchedule schedule = schedules.computeIfAbsent(itemId, id -> new ItemSchedule());
+            schedule.lock.lock();
+            if (!schedule.retired) {
+                LocalDateTime now = LocalDateTime.now();
+                load(itemId, schedule, now);
+                schedule.evictEnded(now);
+                return schedule;
+            }
+            schedule.lock.unlock();
+        }
+    }
+
+    private void unlock(Long itemId, ItemSchedule schedule) {
+        try {
+            if (schedule.loaded && schedule.slots.isEmpty() && schedule.pendingTransactions == 0) {
+                schedule.retired = true;
+                schedules.remove(itemId, schedule);
+            }
+        } finally {
+            schedule.lock.unlock();
+        }
+    }
+
+    private void load(Long itemId, ItemSchedule schedule, LocalDateTime now) {
+        if (schedule.loaded) {
+            return;
+        }
+        bookingRepository.findAllByItemIdAndStatusInAndEndAfter(itemId, BLOCKING_STATUSES, now)
+                .forEach(booking -> schedule.slots.add(Slot.of(booking)));
+        schedule.loaded = true;
+    }
+
+    private Changes currentChanges() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+        Changes changes = (Changes) TransactionSynchronizationManager.getResource(this);
+        if (changes == null) {
+            changes = new Changes();
+            TransactionSynchronizationManager.bindResource(this, changes);
+            TransactionSynchronizationManager.registerSynchronization(changes);
+        }
+        return changes;
+    }
+
+    // Изменения расписаний в рамках одной транзакции: при откате возвращаются только они,
+    // чужие незакоммиченные бронирования остаются в расписании.
+    private final class Changes implements TransactionSynchronization {
+        private final Map<Long, ItemSchedule> touched = new HashMap<>();
+        private final Map<Long, List<Slot>> reserved = new HashMap<>();
+        private final Map<Long, List<Slot>> released = new HashMap<>();
+
+        private void reserved(Long itemId, ItemSchedule schedule, Slot slot) {
+            touch(itemId, schedule);
+            reserved.computeIfAbsent(itemId, id -> new ArrayList<>()).add(slot);
+        }
+
+        private void released(Long itemId, ItemSchedule schedule, Slot slot) {
+            touch(itemId, schedule);
+            released.computeIfAbsent(itemId, id -> new ArrayList<>()).add(slot);
+        }
+
+        private void touch(Long itemId, ItemSchedule schedule) {
+            if (touched.putIfAbsent(itemId, schedule) == null) {
+                schedule.pendingTransactions++;
+            }
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(BookingIntervalIndex.this);
+            touched.forEach((itemId, schedule) -> {
+                schedule.lock.lock();
+                try {
+                    schedule.pendingTransactions--;
+                    if (status != STATUS_COMMITTED) {
+                        reserved.getOrDefault(itemId, List.of()).forEach(schedule.slots::remove);
+                        schedule.slots.addAll(released.getOrDefault(itemId, List.of()));
+                    }
+                } finally {
+                    unlock(itemId, schedule);
+                }
+            });
+        }
+    }
+
+    private static final class ItemSchedule {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final NavigableSet<Slot> slots = new TreeSet<>(Slot.ORDER);
+        private boolean loaded;
+        private boolean retired;
+        private int pendingTransactions;
+
+        // Интервалы в расписании не пересекаются, поэтому из начавшихся раньше конца нового интервала позже всех
+        // заканчивается последний; если это само бронирование (повторное резервирование), проверяется предыдущий.
+        private boolean overlaps(Slot candidate) {
+            Slot before = slots.lower(Slot.probe(candidate.end()));
+            if (before != null && before.bookingId().equals(candidate.bookingId())) {
+                before = slots.lower(before);
+            }
+            return before != null && before.end().isAfter(candidate.start());
+        }
+
+        // Закончившиеся интервалы уже не пересекаются с новыми бронированиями, поэтому не хранятся.
+        private void evictEnded(LocalDateTime now) {
+            slots.headSet(Slot.probe(now), false).removeIf(slot -> !slot.end().isAfter(now));
+        }
+    }
+
+    private record Slot(Long bookingId, LocalDateTime start, LocalDateTime end) {
+        private static final Comparator<Slot> ORDER = Comparator.comparing(Slot::start)
+                .thenComparing(Slot::bookingId);
+
+        private static Slot of(Booking booking) {
+            return new Slot(booking.getId(), booking.getStart(), booking.getEnd());
+        }
+
+        private static Slot probe(LocalDateTime start) {
+            return new Slot(Long.MIN_VALUE, start, start);
+        }
+    }
+}
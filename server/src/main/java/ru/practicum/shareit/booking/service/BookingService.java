@@ -1,28 +1,39 @@
 package ru.practicum.shareit.booking.service;
 
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingPageDto;
+import ru.practicum.shareit.booking.dto.BookingSummaryDto;
 import ru.practicum.shareit.booking.dto.StateDto;
-import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.ItemBookingSummary;
+import ru.practicum.shareit.item.dto.FreeSlotDto;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
-import java.util.Optional;
+import java.util.List;
+import java.util.Map;
 
 public interface BookingService {
     BookingDto findById(Long userId, Long bookingId);
 
     BookingDto createBooking(Long bookerId, BookingDto bookingDto);
 
+    List<BookingDto> createBookings(Long bookerId, List<BookingDto> bookingDtos);
+
     BookingDto approveBooking(Long ownerId, Long bookingId, Boolean approve);
 
-    Collection<BookingDto> findByBookerId(Long bookerId, StateDto stateDto);
+    BookingPageDto findByBookerId(Long bookerId, StateDto stateDto, String pageToken, int size);
+
+    BookingPageDto findByOwnerId(Long ownerId, StateDto stateDto, String pageToken, int size);
+
+    BookingSummaryDto getBookerSummary(Long bookerId);
 
-    Collection<BookingDto> findByOwnerId(Long bookerId, StateDto stateDto);
+    BookingSummaryDto getOwnerSummary(Long ownerId);
 
     Collection<BookingDto> findByItemAndBooker(Item item, User booker);
 
-    Optional<Booking> findLastBooking(Item item);
+    Map<Long, ItemBookingSummary> findItemBookingSummaries(Collection<Long> itemIds);
 
-    Optional<Booking> findNextBooking(Item item);
+    List<FreeSlotDto> findFreeSlots(Long itemId, LocalDateTime from, LocalDateTime to);
 }
@@ -1,35 +1,59 @@
 package ru.practicum.shareit.booking.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingMapper;
+import ru.practicum.shareit.booking.dto.BookingPageDto;
+import ru.practicum.shareit.booking.dto.BookingSummaryDto;
+import ru.practicum.shareit.booking.dto.BookingViewDto;
 import ru.practicum.shareit.booking.dto.StateDto;
+import ru.practicum.shareit.booking.model.ArchivedBooking;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.model.ItemBookingSummary;
+import ru.practicum.shareit.booking.repository.BookingArchiveRepository;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.datasource.ReadFromReplica;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.UserAccessException;
 import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.dto.FreeSlotDto;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.service.ItemDetailCache;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.pagination.PageToken;
 import ru.practicum.shareit.user.dto.UserMapper;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.service.UserService;
 
 import java.time.LocalDateTime;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
+@Timed(value = "shareit.service", histogram = true)
 @RequiredArgsConstructor
 public class BookingServiceImpl implements BookingService {
+    private static final int MAX_BATCH_SIZE = 1000;
+    private static final int MAX_PAGE_SIZE = 1000;
+
     private final BookingRepository bookingRepository;
     private final ItemRepository itemRepository;
     private final UserService userService;
+    private final BookingIntervalIndex bookingIntervalIndex;
+    private final ItemDetailCache itemDetailCache;
+    private final ItemBookingSummaryService itemBookingSummaryService;
+    private final BookingArchiveRepository bookingArchiveRepository;
 
     @Override
     @Transactional
@@ -39,20 +63,65 @@ public class BookingServiceImpl implements BookingService {
         if (itemId == null) {
             throw new NotFoundException("Объект не найден, id = " + bookerId);
         }
-        Booking booking = BookingMapper.INSTANCE.toBooking(bookingDto);
         Item item = itemRepository.findById(itemId)
                 .orElseThrow(() -> new NotFoundException("Объект не найден, id = " + bookerId));
-        if (item.getOwner().getId() == bookerId) {
+        Booking booking = toNewBooking(user, bookingDto, item);
+
+        booking = bookingRepository.save(booking);
+        bookingIntervalIndex.reserve(booking);
+        itemDetailCache.evict(itemId, "booking");
+        return BookingMapper.INSTANCE.toBookingDto(booking);
+    }
+
+    @Override
+    @Transactional
+    public List<BookingDto> createBookings(Long bookerId, List<BookingDto> bookingDtos) {
+        if (bookingDtos.isEmpty() || bookingDtos.size() > MAX_BATCH_SIZE) {
+            throw new ValidationException("Размер пакета должен быть от 1 до " + MAX_BATCH_SIZE);
+        }
+        User user = UserMapper.INSTANCE.toUser(userService.getUserById(bookerId));
+        Set<Long> itemIds = bookingDtos.stream()
+                .map(BookingDto::getItemId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, Item> items = itemRepository.findAllById(itemIds).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+
+        List<Booking> bookings = bookingDtos.stream()
+                .map(bookingDto -> {
+                    Item item = items.get(bookingDto.getItemId());
+                    if (item == null) {
+                        throw new NotFoundException("Объект не найден, id = " + bookingDto.getItemId());
+                    }
+                    return toNewBooking(user, bookingDto, item);
+                })
+                .toList();
+        bookings = bookingRepository.saveAll(bookings);
+        bookingIntervalIndex.reserveAll(bookings);
+        itemIds.forEach(itemId -> itemDetailCache.evict(itemId, "booking"));
+        return bookings.stream()
+                .map(BookingMapper.INSTANCE::toBookingDto)
+                .toList();
+    }
+
+    private Booking toNewBooking(User booker, BookingDto bookingDto, Item item) {
+        if (Objects.equals(item.getOwner().getId(), booker.getId())) {
             throw new UserAccessException("Владелец не может забронировать свой объект.");
         }
         if (!item.getAvailable()) {
             throw new ValidationException("Нет доступа");
         }
-        booking.setBooker(user);
+        Booking booking = BookingMapper.INSTANCE.toBooking(bookingDto);
+        if (booking.getStart() == null || booking.getEnd() == null) {
+            throw new ValidationException("Начало и окончание бронирования должны быть заданы");
+        }
+        if (!booking.getEnd().isAfter(booking.getStart())) {
+            throw new ValidationException("Окончание бронирования должно быть позже его начала");
+        }
+        booking.setBooker(booker);
         booking.setStatus(BookingStatus.WAITING);
         booking.setItem(item);
-
-        return BookingMapper.INSTANCE.toBookingDto(bookingRepository.save(booking));
+        return booking;
     }
 
     @Override
@@ -65,94 +134,132 @@ public class BookingServiceImpl implements BookingService {
         }
 
         if (approve) {
+            bookingIntervalIndex.reserve(booking);
             booking.setStatus(BookingStatus.APPROVED);
         } else {
             booking.setStatus(BookingStatus.REJECTED);
+            bookingIntervalIndex.release(booking);
         }
         Booking updatedBooking = bookingRepository.save(booking);
+        itemBookingSummaryService.refresh(List.of(updatedBooking.getItem().getId()));
+        itemDetailCache.evict(updatedBooking.getItem().getId(), "booking");
         return BookingMapper.INSTANCE.toBookingDto(updatedBooking);
     }
 
     @Override
+    @ReadFromReplica
+    @Transactional(readOnly = true)
     public BookingDto findById(Long userId, Long bookingId) {
-        Booking booking = bookingRepository.findById(bookingId)
+        Optional<Booking> booking = bookingRepository.findById(bookingId);
+        if (booking.isPresent()) {
+            checkParticipant(userId, booking.get().getBooker(), booking.get().getItem());
+            return BookingMapper.INSTANCE.toBookingDto(booking.get());
+        }
+        ArchivedBooking archivedBooking = bookingArchiveRepository.findById(bookingId)
                 .orElseThrow(() -> new NotFoundException("Объект не найден, id = " + bookingId));
-        if (booking.getBooker().getId() == userId || booking.getItem().getOwner().getId() == userId) {
-            return BookingMapper.INSTANCE.toBookingDto(booking);
-        } else {
+        checkParticipant(userId, archivedBooking.getBooker(), archivedBooking.getItem());
+        return BookingMapper.INSTANCE.toBookingDto(archivedBooking);
+    }
+
+    private void checkParticipant(Long userId, User booker, Item item) {
+        if (!Objects.equals(booker.getId(), userId) && !Objects.equals(item.getOwner().getId(), userId)) {
             throw new UserAccessException("Ошибка доступа.");
         }
     }
 
+    // Списки и сводки читают горячую таблицу и архив разными запросами; общий снимок не даёт бронированию,
+    // перенесённому в архив между ними, попасть в ответ дважды.
+    @Override
+    @ReadFromReplica
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public BookingPageDto findByBookerId(Long bookerId, StateDto stateDto, String pageToken, int size) {
+        validatePageSize(size);
+        PageToken.Position after = PageToken.decode(pageToken);
+        List<BookingViewDto> bookings = bookingRepository.findBookerBookingViews(bookerId, stateDto,
+                LocalDateTime.now(), after == null ? null : after.timestamp(), after == null ? null : after.id(),
+                size + 1);
+        return toBookingPage(bookings, size);
+    }
 
     @Override
-    public Collection<BookingDto> findByBookerId(Long bookerId, StateDto stateDto) {
-        List<Booking> bookings = Collections.emptyList();
-
-        switch (stateDto) {
-            case ALL -> bookings = bookingRepository.findAllByBookerIdOrderByStartDesc(bookerId);
-            case WAITING -> bookings = bookingRepository.findAllByBookerIdAndStatusOrderByStartDesc(
-                    bookerId, BookingStatus.WAITING);
-            case REJECTED -> bookings = bookingRepository.findAllByBookerIdAndStatusOrderByStartDesc(
-                    bookerId, BookingStatus.REJECTED);
-            case CURRENT ->
-                    bookings = bookingRepository.findAllByBookerIdAndStatusAndStartBeforeAndEndAfterOrderByStartDesc(
-                            bookerId, BookingStatus.APPROVED, LocalDateTime.now(), LocalDateTime.now());
-            case PAST -> bookings = bookingRepository.findAllByBookerIdAndStatusAndEndBeforeOrderByStartDesc(
-                    bookerId, BookingStatus.APPROVED, LocalDateTime.now());
-            case FUTURE -> bookings = bookingRepository.findAllByBookerIdAndStatusAndStartAfterOrderByStartDesc(
-                    bookerId, BookingStatus.APPROVED, LocalDateTime.now());
+    @ReadFromReplica
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public BookingPageDto findByOwnerId(Long ownerId, StateDto stateDto, String pageToken, int size) {
+        if (!userService.existsUser(ownerId)) {
+            throw new NotFoundException("Объект не найден, id = " + ownerId);
         }
-        return bookings.stream()
-                .map(BookingMapper.INSTANCE::toBookingDto)
-                .toList();
+        validatePageSize(size);
+        PageToken.Position after = PageToken.decode(pageToken);
+        List<BookingViewDto> bookings = bookingRepository.findOwnerBookingViews(ownerId, stateDto,
+                LocalDateTime.now(), after == null ? null : after.timestamp(), after == null ? null : after.id(),
+                size + 1);
+        return toBookingPage(bookings, size);
     }
 
     @Override
-    public Collection<BookingDto> findByOwnerId(Long bookerId, StateDto stateDto) {
-        userService.getUserById(bookerId);
-        List<Booking> bookings = Collections.emptyList();
-
-        switch (stateDto) {
-            case ALL -> bookings = bookingRepository.findAllByItemOwnerIdOrderByStartDesc(bookerId);
-            case WAITING -> bookings = bookingRepository.findAllByItemOwnerIdAndStatusOrderByStartDesc(
-                    bookerId, BookingStatus.WAITING);
-            case REJECTED -> bookings = bookingRepository.findAllByItemOwnerIdAndStatusOrderByStartDesc(
-                    bookerId, BookingStatus.REJECTED);
-            case CURRENT ->
-                    bookings = bookingRepository.findAllByItemOwnerIdAndStatusAndStartBeforeAndEndAfterOrderByStartDesc(
-                            bookerId, BookingStatus.APPROVED, LocalDateTime.now(), LocalDateTime.now());
-            case PAST -> bookings = bookingRepository.findAllByItemOwnerIdAndStatusAndEndBeforeOrderByStartDesc(
-                    bookerId, BookingStatus.APPROVED, LocalDateTime.now());
-            case FUTURE -> bookings = bookingRepository.findAllByItemOwnerIdAndStatusAndStartAfterOrderByStartDesc(
-                    bookerId, BookingStatus.APPROVED, LocalDateTime.now());
+    @ReadFromReplica
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public BookingSummaryDto getBookerSummary(Long bookerId) {
+        return bookingRepository.summarizeBookerBookings(bookerId, LocalDateTime.now());
+    }
+
+    @Override
+    @ReadFromReplica
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public BookingSummaryDto getOwnerSummary(Long ownerId) {
+        if (!userService.existsUser(ownerId)) {
+            throw new NotFoundException("Объект не найден, id = " + ownerId);
+        }
+        return bookingRepository.summarizeOwnerBookings(ownerId, LocalDateTime.now());
+    }
+
+    private void validatePageSize(int size) {
+        if (size <= 0 || size > MAX_PAGE_SIZE) {
+            throw new ValidationException("Размер страницы должен быть от 1 до " + MAX_PAGE_SIZE);
         }
-        return bookings.stream()
-                .map(BookingMapper.INSTANCE::toBookingDto)
-                .toList();
+    }
+
+    private BookingPageDto toBookingPage(List<BookingViewDto> bookings, int size) {
+        List<BookingViewDto> page = bookings.size() > size ? bookings.subList(0, size) : bookings;
+        String nextPageToken = null;
+        if (bookings.size() > size) {
+            BookingViewDto last = page.get(page.size() - 1);
+            nextPageToken = PageToken.encode(last.getStart(), last.getId());
+        }
+        return BookingPageDto.builder()
+                .bookings(page.stream()
+                        .map(BookingMapper.INSTANCE::toBookingDto)
+                        .toList())
+                .nextPageToken(nextPageToken)
+                .build();
     }
 
     @Override
     public Collection<BookingDto> findByItemAndBooker(Item item, User booker) {
+        LocalDateTime now = LocalDateTime.now();
         List<Booking> result = bookingRepository.findByBookerAndItemAndStatusAndEndBefore(booker, item,
-                BookingStatus.APPROVED, LocalDateTime.now());
-        return result.stream()
+                BookingStatus.APPROVED, now);
+        if (!result.isEmpty()) {
+            return result.stream()
+                    .map(BookingMapper.INSTANCE::toBookingDto)
+                    .toList();
+        }
+        return bookingArchiveRepository.findByBookerAndItemAndStatusAndEndBefore(booker, item,
+                        BookingStatus.APPROVED, now).stream()
                 .map(BookingMapper.INSTANCE::toBookingDto)
                 .toList();
     }
 
     @Override
-    public Optional<Booking> findLastBooking(Item item) {
-        List<Booking> lastBookingList = bookingRepository.findFirstByItemAndStatusEndBefore(item,
-                BookingStatus.APPROVED,
-                LocalDateTime.now().minusMinutes(1));
-        return lastBookingList.isEmpty() ? Optional.empty() : Optional.of(lastBookingList.getFirst());
+    public Map<Long, ItemBookingSummary> findItemBookingSummaries(Collection<Long> itemIds) {
+        return itemBookingSummaryService.findByItemIds(itemIds);
     }
 
     @Override
-    public Optional<Booking> findNextBooking(Item item) {
-        return bookingRepository.findFirstByItemAndStatusAndStartAfterOrderByStart(item, BookingStatus.APPROVED,
-                LocalDateTime.now());
+    public List<FreeSlotDto> findFreeSlots(Long itemId, LocalDateTime from, LocalDateTime to) {
+        if (from == null || to == null || !to.isAfter(from)) {
+            throw new ValidationException("Конец периода должен быть позже его начала");
+        }
+        return bookingIntervalIndex.findFreeSlots(itemId, from, to);
     }
 }
-
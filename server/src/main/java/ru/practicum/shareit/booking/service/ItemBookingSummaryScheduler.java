@@ -0,0 +1,35 @@
+package ru.practicum.shareit.booking.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.repository.ItemBookingSummaryRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ItemBookingSummaryScheduler {
+    private static final int BATCH_SIZE = 500;
+
+    private final ItemBookingSummaryRepository summaryRepository;
+    private final ItemBookingSummaryService summaryService;
+
+    @Scheduled(fixedDelayString = "${shareit.booking-summary.refresh-interval:PT30S}")
+    public void refreshExpired() {
+        int refreshed = 0;
+        List<Long> itemIds;
+        do {
+            itemIds = summaryRepository.findExpiredItemIds(LocalDateTime.now(), Limit.of(BATCH_SIZE));
+            summaryService.refresh(itemIds);
+            refreshed += itemIds.size();
+        } while (itemIds.size() == BATCH_SIZE);
+        if (refreshed > 0) {
+            log.debug("Обновлены сводки бронирований для {} вещей", refreshed);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package ru.practicum.shareit.booking.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.model.ItemBookingSummary;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.repository.ItemBookingSummaryRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class ItemBookingSummaryService {
+    private final ItemBookingSummaryRepository summaryRepository;
+    private final BookingRepository bookingRepository;
+    private final ItemRepository itemRepository;
+
+    @Transactional(readOnly = true)
+    public Map<Long, ItemBookingSummary> findByItemIds(Collection<Long> itemIds) {
+        if (itemIds.isEmpty()) {
+            return new HashMap<>();
+        }
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, ItemBookingSummary> summaries = summaryRepository.findAllWithBookingsByItemIdIn(itemIds).stream()
+                .collect(Collectors.toMap(ItemBookingSummary::getItemId, Function.identity()));
+        // Строки, которые планировщик ещё не успел сдвинуть, досчитываются на лету и не сохраняются.
+        List<Long> expired = summaries.values().stream()
+                .filter(summary -> summary.isExpired(now))
+                .map(ItemBookingSummary::getItemId)
+                .toList();
+        if (!expired.isEmpty()) {
+            summaries.putAll(compute(expired, now));
+        }
+        return summaries;
+    }
+
+    @Transactional
+    public void refresh(Collection<Long> itemIds) {
+        if (itemIds.isEmpty()) {
+            return;
+        }
+        // Блокировка строк вещей упорядочивает параллельные пересчёты: следующий читает бронирования
+        // и строку сводки уже после коммита предыдущего и не вставляет её повторно.
+        itemRepository.lockAllByIdIn(itemIds);
+        Map<Long, ItemBookingSummary> computed = compute(itemIds, LocalDateTime.now());
+        Map<Long, ItemBookingSummary> existing = summaryRepository.findAllById(itemIds).stream()
+                .collect(Collectors.toMap(ItemBookingSummary::getItemId, Function.identity()));
+        List<ItemBookingSummary> created = new ArrayList<>();
+        computed.forEach((itemId, summary) -> {
+            ItemBookingSummary stored = existing.get(itemId);
+            if (stored == null) {
+                created.add(summary);
+            } else {
+                stored.setLastBooking(summary.getLastBooking());
+                stored.setNextBooking(summary.getNextBooking());
+                stored.setValidUntil(summary.getValidUntil());
+            }
+        });
+        summaryRepository.saveAll(created);
+    }
+
+    // Последнее бронирование закончилось больше минуты назад, следующее ещё не началось;
+    // строка устаревает, когда закончится очередное бронирование или начнётся следующее.
+    private Map<Long, ItemBookingSummary> compute(Collection<Long> itemIds, LocalDateTime now) {
+        LocalDateTime lastBefore = now.minusMinutes(1);
+        Map<Long, Booking> lastBookings = groupByItemId(
+                bookingRepository.findLastBookingsByItemIds(itemIds, BookingStatus.APPROVED, lastBefore));
+        Map<Long, Booking> nextBookings = groupByItemId(
+                bookingRepository.findNextBookingsByItemIds(itemIds, BookingStatus.APPROVED, now));
+        Map<Long, LocalDateTime> lastChanges = bookingRepository
+                .findEarliestEndsByItemIds(itemIds, BookingStatus.APPROVED, lastBefore).stream()
+                .collect(Collectors.toMap(BookingRepository.ItemEarliestEnd::getItemId,
+                        end -> end.getEarliestEnd().plusMinutes(1)));
+
+        Map<Long, ItemBookingSummary> summaries = new HashMap<>();
+        for (Long itemId : itemIds) {
+            Booking nextBooking = nextBookings.get(itemId);
+            LocalDateTime validUntil = lastChanges.get(itemId);
+            if (nextBooking != null && (validUntil == null || nextBooking.getStart().isBefore(validUntil))) {
+                validUntil = nextBooking.getStart();
+            }
+            summaries.put(itemId, new ItemBookingSummary(itemId, lastBookings.get(itemId), nextBooking, validUntil));
+        }
+        return summaries;
+    }
+
+    private Map<Long, Booking> groupByItemId(List<Booking> bookings) {
+        return bookings.stream()
+                .collect(Collectors.toMap(booking -> booking.getItem().getId(), booking -> booking,
+                        BinaryOperator.maxBy(Comparator.comparing(Booking::getId))));
+    }
+}
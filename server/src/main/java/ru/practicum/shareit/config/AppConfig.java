@@ -2,8 +2,10 @@ package ru.practicum.shareit.config;
 
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.PropertySource;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @Configuration
+@EnableScheduling
 @PropertySource("classpath:/application.properties")
 public class AppConfig {
 }
@@ -0,0 +1,12 @@
+package ru.practicum.shareit.datasource;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Разрешает читающей транзакции метода идти в реплику; без этой пометки все запросы идут в основную базу.
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ReadFromReplica {
+}
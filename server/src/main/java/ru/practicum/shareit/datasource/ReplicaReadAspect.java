@@ -0,0 +1,19 @@
+package ru.practicum.shareit.datasource;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+
+@Aspect
+public class ReplicaReadAspect {
+
+    @Around("@annotation(ru.practicum.shareit.datasource.ReadFromReplica)")
+    public Object readFromReplica(ProceedingJoinPoint joinPoint) throws Throwable {
+        boolean previous = ReplicaReads.enter();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            ReplicaReads.exit(previous);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package ru.practicum.shareit.datasource;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Supplier;
+
+public final class ReplicaReads {
+    private static final ThreadLocal<Boolean> REQUESTED = new ThreadLocal<>();
+    private static final Object WRITTEN_USERS_KEY = new Object();
+
+    private ReplicaReads() {
+    }
+
+    public static boolean isRequested() {
+        return Boolean.TRUE.equals(REQUESTED.get());
+    }
+
+    public static <T> T call(Supplier<T> action) {
+        boolean previous = enter();
+        try {
+            return action.get();
+        } finally {
+            exit(previous);
+        }
+    }
+
+    static boolean enter() {
+        boolean previous = isRequested();
+        REQUESTED.set(Boolean.TRUE);
+        return previous;
+    }
+
+    static void exit(boolean previous) {
+        if (!previous) {
+            REQUESTED.remove();
+        }
+    }
+
+    // Пользователь, чьи данные изменила транзакция, после коммита читает из основной базы,
+    // даже если запрос пришёл без заголовка X-Sharer-User-Id (создание и изменение пользователя).
+    public static void recordWrite(Long userId) {
+        if (userId == null || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        writtenUsers().add(userId);
+    }
+
+    @SuppressWarnings("unchecked")
+    static Set<Long> writtenUsers() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return new HashSet<>();
+        }
+        Set<Long> users = (Set<Long>) TransactionSynchronizationManager.getResource(WRITTEN_USERS_KEY);
+        if (users == null) {
+            Set<Long> created = new HashSet<>();
+            TransactionSynchronizationManager.bindResource(WRITTEN_USERS_KEY, created);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(WRITTEN_USERS_KEY);
+                }
+            });
+            users = created;
+        }
+        return users;
+    }
+}
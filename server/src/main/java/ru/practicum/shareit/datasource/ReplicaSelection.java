@@ -0,0 +1,6 @@
+package ru.practicum.shareit.datasource;
+
+public enum ReplicaSelection {
+    ROUND_ROBIN,
+    LEAST_LOADED
+}
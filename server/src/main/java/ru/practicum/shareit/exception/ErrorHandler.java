@@ -26,6 +26,12 @@ public class ErrorHandler {
         return new ErrorResponse("Почта уже существует", e.getMessage());
     }
 
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ErrorResponse handleBookingOverlapException(final BookingOverlapException e) {
+        return new ErrorResponse("Время уже забронировано", e.getMessage());
+    }
+
     @ExceptionHandler
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ErrorResponse handleUserAccessException(final UserAccessException e) {
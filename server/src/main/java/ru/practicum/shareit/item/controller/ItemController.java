@@ -1,16 +1,25 @@
 package ru.practicum.shareit.item.controller;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.CommentPageDto;
+import ru.practicum.shareit.item.dto.FreeSlotDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.pagination.PageResponse;
+import ru.practicum.shareit.streaming.JsonArrayWriter;
 
+import java.io.IOException;
+import java.time.LocalDateTime;
 import java.util.Collection;
+import java.util.List;
 
 
 @RestController
@@ -19,6 +28,7 @@ import java.util.Collection;
 @Slf4j
 public class ItemController {
     private final ItemService itemService;
+    private final JsonArrayWriter jsonArrayWriter;
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
@@ -29,6 +39,15 @@ public class ItemController {
         return ResponseEntity.ok().body(newItem);
     }
 
+    @PostMapping("/batch")
+    @ResponseStatus(HttpStatus.CREATED)
+    public ResponseEntity<List<ItemDto>> createItems(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                     @RequestBody List<@Valid ItemDto> itemDtos) {
+        log.info("Получен POST-запрос к /items/batch с userId = {} и {} вещами", userId, itemDtos.size());
+        List<ItemDto> newItems = itemService.createItems(userId, itemDtos);
+        return ResponseEntity.ok().body(newItems);
+    }
+
     @PatchMapping("/{itemId}")
     public ResponseEntity<ItemDto> updateItem(@RequestHeader("X-Sharer-User-Id") Long userId,
                                               @Valid @RequestBody ItemDto itemDto,
@@ -54,18 +73,21 @@ public class ItemController {
     }
 
     @GetMapping
-    public ResponseEntity<Collection<ItemDto>> getUserAllItems(@RequestHeader("X-Sharer-User-Id") Long userId) {
+    public void getUserAllItems(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                HttpServletResponse response) throws IOException {
         log.info("Получен GET-запрос к /items с userId = {}", userId);
-        Collection<ItemDto> items = itemService.getUserAllItems(userId);
-        return ResponseEntity.ok().body(items);
+        jsonArrayWriter.<ItemDto>write(response, consumer -> itemService.streamUserAllItems(userId, consumer));
     }
 
 
     @GetMapping("/search")
     public ResponseEntity<Collection<ItemDto>> searchItems(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                                           @RequestParam String text) {
-        log.info("Получен GET-запрос к /items/search с userId = {} и текстом: {}", userId, text);
-        Collection<ItemDto> itemsByText = itemService.searchItems(text);
+                                                           @RequestParam String text,
+                                                           @RequestParam(defaultValue = "0") int from,
+                                                           @RequestParam(defaultValue = "10") int size) {
+        log.info("Получен GET-запрос к /items/search с userId = {}, текстом: {}, from = {} и size = {}",
+                userId, text, from, size);
+        Collection<ItemDto> itemsByText = itemService.searchItems(text, from, size);
         return ResponseEntity.ok().body(itemsByText);
     }
 
@@ -78,5 +100,26 @@ public class ItemController {
         CommentDto comment = itemService.addComment(itemId, commentDto, userId);
         return ResponseEntity.ok().body(comment);
     }
-}
 
+    @GetMapping("/{itemId}/comments")
+    public ResponseEntity<Collection<CommentDto>> getItemComments(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                                  @PathVariable Long itemId,
+                                                                  @RequestParam(required = false) String pageToken,
+                                                                  @RequestParam(defaultValue = "10") int size) {
+        log.info("Получен GET-запрос к /items/{}/comments с userId = {}, pageToken = {} и size = {}",
+                itemId, userId, pageToken, size);
+        CommentPageDto comments = itemService.getItemComments(itemId, pageToken, size);
+        return PageResponse.of(comments.getComments(), comments.getNextPageToken());
+    }
+
+    @GetMapping("/{itemId}/free-slots")
+    public ResponseEntity<Collection<FreeSlotDto>> getFreeSlots(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                                @PathVariable Long itemId,
+                                                                @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                                @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        log.info("Получен GET-запрос к /items/{}/free-slots с userId = {}, from = {} и to = {}",
+                itemId, userId, from, to);
+        Collection<FreeSlotDto> freeSlots = itemService.getFreeSlots(itemId, from, to);
+        return ResponseEntity.ok().body(freeSlots);
+    }
+}
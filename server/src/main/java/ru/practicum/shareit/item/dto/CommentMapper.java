@@ -13,4 +13,6 @@ public interface CommentMapper {
 
     @Mapping(target = "authorName", expression = "java(comment.getUser().getName())")
     CommentDto toCommentDto(Comment comment);
+
+    CommentDto toCommentDto(CommentViewDto commentView);
 }
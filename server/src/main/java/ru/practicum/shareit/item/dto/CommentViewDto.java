@@ -0,0 +1,16 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@AllArgsConstructor
+public class CommentViewDto {
+    private Long id;
+    private Long itemId;
+    private String text;
+    private String authorName;
+    private LocalDateTime created;
+}
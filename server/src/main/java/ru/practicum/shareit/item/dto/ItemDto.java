@@ -25,5 +25,6 @@ public class ItemDto {
     private BookingDto lastBooking;
     private BookingDto nextBooking;
     private Collection<CommentDto> comments;
+    private Integer commentCount;
     private Long requestId;
 }
@@ -1,6 +1,7 @@
 package ru.practicum.shareit.item.dto;
 
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import org.mapstruct.factory.Mappers;
 import ru.practicum.shareit.item.model.Item;
 
@@ -9,6 +10,7 @@ import ru.practicum.shareit.item.model.Item;
 public interface ItemMapper {
     ItemMapper INSTANCE = Mappers.getMapper(ItemMapper.class);
 
+    @Mapping(target = "commentCount", ignore = true)
     Item toItem(ItemDto itemDto);
 
     ItemDto toItemDto(Item item);
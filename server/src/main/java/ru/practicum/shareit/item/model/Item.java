@@ -15,7 +15,8 @@ import ru.practicum.shareit.user.model.User;
 @EqualsAndHashCode(of = {"id"})
 public class Item {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "items_seq")
+    @SequenceGenerator(name = "items_seq", sequenceName = "items_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "name", nullable = false)
@@ -25,7 +26,10 @@ public class Item {
     @Column(name = "available")
     @NotNull
     private Boolean available;
-    @ManyToOne(fetch = FetchType.LAZY, targetEntity = User.class)
+    @ManyToOne(fetch = FetchType.LAZY, optional = false, targetEntity = User.class)
     @JoinColumn(name = "owner_id", referencedColumnName = "id")
     private User owner;
+    // Меняется только запросом incrementCommentCount, чтобы сохранение вещи не затирало счётчик.
+    @Column(name = "comment_count", insertable = false, updatable = false)
+    private int commentCount;
 }
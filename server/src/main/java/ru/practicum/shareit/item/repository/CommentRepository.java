@@ -1,12 +1,47 @@
 package ru.practicum.shareit.item.repository;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.item.dto.CommentViewDto;
 import ru.practicum.shareit.item.model.Comment;
-import ru.practicum.shareit.item.model.Item;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
-    List<Comment> findAllByItem(Item item);
 
+    @Query("SELECT new ru.practicum.shareit.item.dto.CommentViewDto(c.id, c.item.id, c.text, u.name, c.created) " +
+            "FROM Comment c " +
+            "JOIN c.user u " +
+            "WHERE c.item.id = :itemId " +
+            "ORDER BY c.created DESC, c.id DESC")
+    List<CommentViewDto> findFirstPageByItemId(@Param("itemId") Long itemId, Limit limit);
+
+    // Продолжение без условия IS NULL читается диапазоном индекса (item_id, created, id) от курсора.
+    @Query("SELECT new ru.practicum.shareit.item.dto.CommentViewDto(c.id, c.item.id, c.text, u.name, c.created) " +
+            "FROM Comment c " +
+            "JOIN c.user u " +
+            "WHERE c.item.id = :itemId " +
+            "AND (c.created < :afterCreated OR (c.created = :afterCreated AND c.id < :afterId)) " +
+            "ORDER BY c.created DESC, c.id DESC")
+    List<CommentViewDto> findPageByItemIdAfter(@Param("itemId") Long itemId,
+                                               @Param("afterCreated") LocalDateTime afterCreated,
+                                               @Param("afterId") Long afterId,
+                                               Limit limit);
+
+    // Свежие комментарии сразу для порции вещей: номер строки считается внутри каждой вещи.
+    @Query("SELECT new ru.practicum.shareit.item.dto.CommentViewDto(r.id, r.itemId, r.text, r.authorName, r.created) " +
+            "FROM (SELECT c.id AS id, c.item.id AS itemId, c.text AS text, u.name AS authorName, " +
+            "c.created AS created, " +
+            "ROW_NUMBER() OVER (PARTITION BY c.item.id ORDER BY c.created DESC, c.id DESC) AS position " +
+            "FROM Comment c " +
+            "JOIN c.user u " +
+            "WHERE c.item.id IN :itemIds) r " +
+            "WHERE r.position <= :perItem " +
+            "ORDER BY r.itemId, r.created DESC, r.id DESC")
+    List<CommentViewDto> findNewestByItemIdIn(@Param("itemIds") Collection<Long> itemIds,
+                                              @Param("perItem") int perItem);
 }
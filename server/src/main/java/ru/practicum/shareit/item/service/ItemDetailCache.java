@@ -0,0 +1,104 @@
+package ru.practicum.shareit.item.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.datasource.ReplicaReads;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.function.Function;
+
+@Component
+@EnableConfigurationProperties(ItemCacheProperties.class)
+public class ItemDetailCache {
+    private final Cache<Long, Entry> items;
+    private final MeterRegistry meterRegistry;
+
+    public ItemDetailCache(ItemCacheProperties properties, MeterRegistry meterRegistry) {
+        Duration ttl = properties.getTtl();
+        this.items = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfter(new Expiry<Long, Entry>() {
+                    @Override
+                    public long expireAfterCreate(Long itemId, Entry entry, long currentTime) {
+                        return entry.timeToLive(ttl).toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(Long itemId, Entry entry, long currentTime, long currentDuration) {
+                        return entry.timeToLive(ttl).toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterRead(Long itemId, Entry entry, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        this.meterRegistry = meterRegistry;
+        CaffeineCacheMetrics.monitor(meterRegistry, items, "items");
+    }
+
+    public ItemDto get(Long itemId, Function<Long, Entry> loader) {
+        // Прочитанное из реплики может отставать от основной базы, поэтому в общий кэш не попадает.
+        if (ReplicaReads.isRequested()) {
+            Entry cached = items.getIfPresent(itemId);
+            return (cached != null ? cached : loader.apply(itemId)).item();
+        }
+        return items.get(itemId, id -> {
+            Entry entry = loader.apply(id);
+            evictOnRollback(id);
+            return entry;
+        }).item();
+    }
+
+    public void evict(Long itemId, String reason) {
+        items.invalidate(itemId);
+        meterRegistry.counter("shareit.item-cache.invalidations", "reason", reason).increment();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                items.invalidate(itemId);
+            }
+        });
+    }
+
+    private void evictOnRollback(Long itemId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    items.invalidate(itemId);
+                }
+            }
+        });
+    }
+
+    public record Entry(ItemDto item, LocalDateTime validUntil) {
+        private Duration timeToLive(Duration ttl) {
+            if (validUntil == null) {
+                return ttl;
+            }
+            Duration untilChange = Duration.between(LocalDateTime.now(), validUntil);
+            if (untilChange.isNegative()) {
+                return Duration.ZERO;
+            }
+            return untilChange.compareTo(ttl) < 0 ? untilChange : ttl;
+        }
+    }
+}
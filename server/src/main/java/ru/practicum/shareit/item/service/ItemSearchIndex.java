@@ -0,0 +1,207 @@
+package ru.practicum.shareit.item.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ItemSearchIndex {
+    private static final int GRAM_SIZE = 3;
+
+    private static final Comparator<Match> RELEVANCE = Comparator
+            .comparingInt(Match::nameRank)
+            .thenComparingInt(Match::position)
+            .thenComparingLong(match -> match.item().id());
+
+    private final ItemRepository itemRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Index index = new Index();
+
+    // Загрузка идёт под той же блокировкой, что и изменения после коммита: изменение, закоммиченное
+    // во время загрузки, дождётся замены и применится уже к новому индексу.
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            Index rebuilt = new Index();
+            itemRepository.findAll().forEach(item -> rebuilt.put(IndexedItem.of(item)));
+            index = rebuilt;
+            log.info("Search index rebuilt: items={}, grams={}", rebuilt.items.size(), rebuilt.postings.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void index(Item item) {
+        IndexedItem indexed = IndexedItem.of(item);
+        afterCommit(() -> index.put(indexed));
+    }
+
+    public void remove(Long itemId) {
+        afterCommit(() -> index.delete(itemId));
+    }
+
+    public List<ItemDto> search(String text, int from, int size) {
+        String query = text.toLowerCase(Locale.ROOT);
+        List<Match> matches = new ArrayList<>();
+
+        lock.readLock().lock();
+        try {
+            for (IndexedItem item : index.candidates(query)) {
+                if (!item.available()) {
+                    continue;
+                }
+                int namePosition = item.name().indexOf(query);
+                if (namePosition >= 0) {
+                    matches.add(new Match(item, 0, namePosition));
+                } else {
+                    int descriptionPosition = item.description().indexOf(query);
+                    if (descriptionPosition >= 0) {
+                        matches.add(new Match(item, 1, descriptionPosition));
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        return matches.stream()
+                .sorted(RELEVANCE)
+                .skip(from)
+                .limit(size)
+                .map(match -> match.item().toItemDto())
+                .toList();
+    }
+
+    // Индекс общий для всех запросов, поэтому изменение попадает в него только после коммита транзакции.
+    private void afterCommit(Runnable change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(change);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(change);
+            }
+        });
+    }
+
+    private void apply(Runnable change) {
+        lock.writeLock().lock();
+        try {
+            change.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static Set<String> gramsOf(String text) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM_SIZE <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM_SIZE));
+        }
+        return grams;
+    }
+
+    private static class Index {
+        private final Map<Long, IndexedItem> items = new HashMap<>();
+        private final Map<String, Set<Long>> postings = new HashMap<>();
+
+        // Запрос короче триграммы индекс не сужает, поэтому он проверяется по всем проиндексированным вещам.
+        Collection<IndexedItem> candidates(String query) {
+            if (query.length() < GRAM_SIZE) {
+                return items.values();
+            }
+            Set<Long> ids = null;
+            for (String gram : gramsOf(query)) {
+                Set<Long> posting = postings.get(gram);
+                if (posting == null) {
+                    return List.of();
+                }
+                if (ids == null) {
+                    ids = new HashSet<>(posting);
+                } else {
+                    ids.retainAll(posting);
+                }
+                if (ids.isEmpty()) {
+                    return List.of();
+                }
+            }
+            return ids.stream()
+                    .map(items::get)
+                    .toList();
+        }
+
+        void put(IndexedItem indexed) {
+            delete(indexed.id());
+            items.put(indexed.id(), indexed);
+            indexed.grams().forEach(gram -> postings.computeIfAbsent(gram, key -> new HashSet<>()).add(indexed.id()));
+        }
+
+        void delete(Long itemId) {
+            IndexedItem previous = items.remove(itemId);
+            if (previous == null) {
+                return;
+            }
+            previous.grams().forEach(gram -> {
+                Set<Long> posting = postings.get(gram);
+                if (posting != null) {
+                    posting.remove(itemId);
+                    if (posting.isEmpty()) {
+                        postings.remove(gram);
+                    }
+                }
+            });
+        }
+    }
+
+    private record IndexedItem(Long id, String originalName, String originalDescription,
+                               String name, String description, boolean available) {
+        static IndexedItem of(Item item) {
+            return new IndexedItem(item.getId(), item.getName(), item.getDescription(),
+                    item.getName().toLowerCase(Locale.ROOT), item.getDescription().toLowerCase(Locale.ROOT),
+                    Boolean.TRUE.equals(item.getAvailable()));
+        }
+
+        Set<String> grams() {
+            Set<String> grams = gramsOf(name);
+            grams.addAll(gramsOf(description));
+            return grams;
+        }
+
+        ItemDto toItemDto() {
+            return ItemDto.builder()
+                    .id(id)
+                    .name(originalName)
+                    .description(originalDescription)
+                    .available(available)
+                    .build();
+        }
+    }
+
+    private record Match(IndexedItem item, int nameRank, int position) {
+    }
+}
@@ -1,13 +1,20 @@
 package ru.practicum.shareit.item.service;
 
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.CommentPageDto;
+import ru.practicum.shareit.item.dto.FreeSlotDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
 
 public interface ItemService {
     ItemDto createItem(Long userId, ItemDto itemDto);
 
+    List<ItemDto> createItems(Long userId, List<ItemDto> itemDtos);
+
     ItemDto updateItem(Long userId, ItemDto itemDto, Long itemId);
 
     ItemDto deleteItem(Long itemId, Long userId);
@@ -16,7 +23,13 @@ public interface ItemService {
 
     Collection<ItemDto> getUserAllItems(Long userId);
 
-    Collection<ItemDto> searchItems(String text);
+    void streamUserAllItems(Long userId, Consumer<ItemDto> consumer);
+
+    Collection<ItemDto> searchItems(String text, int from, int size);
 
     CommentDto addComment(Long itemId, CommentDto commentDto, Long userId);
+
+    CommentPageDto getItemComments(Long itemId, String pageToken, int size);
+
+    List<FreeSlotDto> getFreeSlots(Long itemId, LocalDateTime from, LocalDateTime to);
 }
@@ -1,21 +1,30 @@
 package ru.practicum.shareit.item.service;
 
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingMapper;
+import ru.practicum.shareit.booking.model.ItemBookingSummary;
 import ru.practicum.shareit.booking.service.BookingService;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.CommentMapper;
+import ru.practicum.shareit.item.dto.CommentPageDto;
+import ru.practicum.shareit.item.dto.CommentViewDto;
+import ru.practicum.shareit.item.dto.FreeSlotDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemMapper;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.pagination.PageToken;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.service.ItemRequestService;
 import ru.practicum.shareit.user.dto.UserMapper;
@@ -26,17 +35,31 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
+@Timed(value = "shareit.service", histogram = true)
 @RequiredArgsConstructor
 public class ItemServiceImpl implements ItemService {
+    private static final int MAX_BATCH_SIZE = 1000;
+    private static final int STREAM_CHUNK_SIZE = 100;
+    private static final int EMBEDDED_COMMENTS = 10;
+    private static final int MAX_COMMENT_PAGE_SIZE = 100;
+
     private final ItemRepository itemRepository;
     private final UserService userService;
     private final CommentRepository commentRepository;
     private final BookingService bookingService;
     private final ItemRequestService itemRequestService;
+    private final ItemSearchIndex itemSearchIndex;
+    private final ItemDetailCache itemDetailCache;
+    private final EntityManager entityManager;
 
     private void validateItem(ItemDto itemDto) {
         if (itemDto.getName() == null || itemDto.getAvailable() == null ||
@@ -48,6 +71,56 @@ public class ItemServiceImpl implements ItemService {
     @Override
     @Transactional
     public ItemDto createItem(Long userId, ItemDto itemDto) {
+        validateNewItem(itemDto);
+        User owner = UserMapper.INSTANCE.toUser(userService.getUserById(userId));
+        Item item = ItemMapper.INSTANCE.toItem(itemDto);
+        item.setOwner(owner);
+
+        item = itemRepository.save(item);
+
+        final Long requestId = itemDto.getRequestId();
+        if (requestId != null) {
+            ItemRequest itemRequest = itemRequestService.findItemRequestById(requestId);
+            itemRequestService.createRequestedItem(item, itemRequest);
+        }
+
+        item = itemRepository.save(item);
+        itemSearchIndex.index(item);
+        return ItemMapper.INSTANCE.toItemDto(item);
+    }
+
+    @Override
+    @Transactional
+    public List<ItemDto> createItems(Long userId, List<ItemDto> itemDtos) {
+        validateBatchSize(itemDtos.size());
+        itemDtos.forEach(this::validateNewItem);
+        User owner = UserMapper.INSTANCE.toUser(userService.getUserById(userId));
+        List<Item> items = itemDtos.stream()
+                .map(itemDto -> {
+                    Item item = ItemMapper.INSTANCE.toItem(itemDto);
+                    item.setOwner(owner);
+                    return item;
+                })
+                .toList();
+        items = itemRepository.saveAll(items);
+
+        Map<Long, ItemRequest> itemRequests = new HashMap<>();
+        for (int i = 0; i < items.size(); i++) {
+            Long requestId = itemDtos.get(i).getRequestId();
+            if (requestId != null) {
+                ItemRequest itemRequest = itemRequests.computeIfAbsent(requestId,
+                        itemRequestService::findItemRequestById);
+                itemRequestService.createRequestedItem(items.get(i), itemRequest);
+            }
+        }
+
+        items.forEach(itemSearchIndex::index);
+        return items.stream()
+                .map(ItemMapper.INSTANCE::toItemDto)
+                .toList();
+    }
+
+    private void validateNewItem(ItemDto itemDto) {
         String name = itemDto.getName();
         if (name == null || name.isEmpty() || name.isBlank()) {
             throw new ValidationException("Имя не может быть пустым");
@@ -59,19 +132,12 @@ public class ItemServiceImpl implements ItemService {
         if (itemDto.getAvailable() == null) {
             throw new ValidationException("Доступность не может быть пустой");
         }
-        User owner = UserMapper.INSTANCE.toUser(userService.getUserById(userId));
-        Item item = ItemMapper.INSTANCE.toItem(itemDto);
-        item.setOwner(owner);
-
-        item = itemRepository.save(item);
+    }
 
-        final Long requestId = itemDto.getRequestId();
-        if (requestId != null) {
-            ItemRequest itemRequest = itemRequestService.findItemRequestById(requestId);
-            itemRequestService.createRequestedItem(item, itemRequest);
+    private void validateBatchSize(int size) {
+        if (size == 0 || size > MAX_BATCH_SIZE) {
+            throw new ValidationException("Размер пакета должен быть от 1 до " + MAX_BATCH_SIZE);
         }
-
-        return ItemMapper.INSTANCE.toItemDto(itemRepository.save(item));
     }
 
     @Override
@@ -88,7 +154,10 @@ public class ItemServiceImpl implements ItemService {
         if (itemDto.getAvailable() != null) {
             newItem.setAvailable(itemDto.getAvailable());
         }
-        return ItemMapper.INSTANCE.toItemDto(itemRepository.save(newItem));
+        Item updatedItem = itemRepository.save(newItem);
+        itemSearchIndex.index(updatedItem);
+        itemDetailCache.evict(itemId, "update");
+        return ItemMapper.INSTANCE.toItemDto(updatedItem);
     }
 
     @Override
@@ -97,63 +166,90 @@ public class ItemServiceImpl implements ItemService {
         Item newItem = itemRepository.findByIdAndOwnerId(itemId, userId)
                 .orElseThrow(() -> new NotFoundException("Объект не найден, id = " + itemId));
         itemRepository.deleteById(itemId);
+        itemSearchIndex.remove(itemId);
+        itemDetailCache.evict(itemId, "delete");
         return ItemMapper.INSTANCE.toItemDto(newItem);
     }
 
     @Override
     public ItemDto getItemById(Long itemId) {
-        Item item = itemRepository.findById(itemId)
-                .orElseThrow(() -> new NotFoundException("Объект не найден, id = " + itemId));
-
-        Collection<Comment> comments = commentRepository.findAllByItem(item);
-        ItemDto itemDto = ItemMapper.INSTANCE.toItemDto(item);
-        if (comments == null) {
-            itemDto.setComments(Collections.emptyList());
-        } else {
-            itemDto.setComments(comments.stream()
-                    .map(CommentMapper.INSTANCE::toCommentDto)
-                    .toList());
-        }
-        bookingService.findLastBooking(item)
-                .ifPresent(booking -> itemDto.setLastBooking(BookingMapper.INSTANCE.toBookingDto(booking)));
-
-        bookingService.findNextBooking(item)
-                .ifPresent(booking -> itemDto.setNextBooking(BookingMapper.INSTANCE.toBookingDto(booking)));
-
-        return itemDto;
+        return itemDetailCache.get(itemId, this::loadItemDetail);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Collection<ItemDto> getUserAllItems(Long userId) {
-        Collection<Item> items = itemRepository.getItemsByOwnerId(userId);
-        return items.stream()
-                .map(item -> {
-                    Collection<Comment> comments = commentRepository.findAllByItem(item);
-                    ItemDto itemDto = ItemMapper.INSTANCE.toItemDto(item);
-                    itemDto.setComments(comments != null ? comments.stream()
-                            .map(CommentMapper.INSTANCE::toCommentDto)
-                            .toList() : Collections.emptyList());
+        List<ItemDto> items = new ArrayList<>();
+        forEachChunk(userId, chunk -> writeItemsWithDetails(chunk, items::add));
+        return items;
+    }
 
-                    bookingService.findLastBooking(item)
-                            .ifPresent(booking -> itemDto.setLastBooking(BookingMapper.INSTANCE.toBookingDto(booking)));
+    // Отданные порции не должны копиться в контексте персистентности до конца выдачи: вместе с вещами
+    // и сводками в нём остаются подтянутые бронирования, бронирующие и владельцы. Выдача идёт в собственной
+    // транзакции, поэтому очистка контекста не затрагивает сущности вызывающего кода.
+    @Override
+    @Transactional(readOnly = true, propagation = Propagation.REQUIRES_NEW)
+    public void streamUserAllItems(Long userId, Consumer<ItemDto> consumer) {
+        forEachChunk(userId, chunk -> {
+            writeItemsWithDetails(chunk, consumer);
+            entityManager.clear();
+        });
+    }
 
-                    bookingService.findNextBooking(item)
-                            .ifPresent(booking -> itemDto.setNextBooking(BookingMapper.INSTANCE.toBookingDto(booking)));
+    private void forEachChunk(Long userId, Consumer<List<Item>> action) {
+        try (Stream<Item> items = itemRepository.streamByOwnerIdOrderById(userId)) {
+            List<Item> chunk = new ArrayList<>(STREAM_CHUNK_SIZE);
+            Iterator<Item> iterator = items.iterator();
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == STREAM_CHUNK_SIZE || !iterator.hasNext()) {
+                    action.accept(chunk);
+                    chunk.clear();
+                }
+            }
+        }
+    }
 
-                    return itemDto;
-                })
+    private void writeItemsWithDetails(List<Item> items, Consumer<ItemDto> consumer) {
+        List<Long> itemIds = items.stream()
+                .map(Item::getId)
                 .toList();
+
+        Map<Long, List<CommentDto>> commentsByItem = commentRepository
+                .findNewestByItemIdIn(itemIds, EMBEDDED_COMMENTS).stream()
+                .collect(Collectors.groupingBy(CommentViewDto::getItemId,
+                        Collectors.mapping(CommentMapper.INSTANCE::toCommentDto, Collectors.toList())));
+        Map<Long, ItemBookingSummary> summaries = bookingService.findItemBookingSummaries(itemIds);
+
+        for (Item item : items) {
+            ItemDto itemDto = ItemMapper.INSTANCE.toItemDto(item);
+            itemDto.setComments(commentsByItem.getOrDefault(item.getId(), Collections.emptyList()));
+            applyBookingSummary(itemDto, summaries.get(item.getId()));
+            consumer.accept(itemDto);
+        }
+    }
+
+    private void applyBookingSummary(ItemDto itemDto, ItemBookingSummary summary) {
+        if (summary == null) {
+            return;
+        }
+        if (summary.getLastBooking() != null) {
+            itemDto.setLastBooking(BookingMapper.INSTANCE.toBookingDto(summary.getLastBooking()));
+        }
+        if (summary.getNextBooking() != null) {
+            itemDto.setNextBooking(BookingMapper.INSTANCE.toBookingDto(summary.getNextBooking()));
+        }
     }
 
     @Override
-    public Collection<ItemDto> searchItems(String text) {
-        if (text == null || text.isEmpty()) {
+    public Collection<ItemDto> searchItems(String text, int from, int size) {
+        if (text == null || text.isBlank()) {
             return new ArrayList<>();
         }
-        return itemRepository.searchItems(text)
-                .stream()
-                .map(ItemMapper.INSTANCE::toItemDto)
-                .collect(Collectors.toCollection(HashSet::new));
+        if (from < 0 || size <= 0) {
+            throw new ValidationException("Некорректные параметры страницы");
+        }
+        return itemSearchIndex.search(text, from, size);
     }
 
     @Override
@@ -174,28 +270,59 @@ public class ItemServiceImpl implements ItemService {
         comment.setUser(author);
         comment.setCreated(LocalDateTime.now());
         comment = commentRepository.save(comment);
+        itemRepository.incrementCommentCount(itemId);
+        itemDetailCache.evict(itemId, "comment");
 
         return CommentMapper.INSTANCE.toCommentDto(comment);
     }
 
-    private ItemDto populateItemDto(Item item) {
-        Collection<Comment> comments = commentRepository.findAllByItem(item);
-        ItemDto itemDto = ItemMapper.INSTANCE.toItemDto(item);
-        if (comments == null || comments.isEmpty()) {
-            itemDto.setComments(Collections.emptyList());
-        } else {
-            itemDto.setComments(comments.stream()
-                    .map(CommentMapper.INSTANCE::toCommentDto)
-                    .collect(Collectors.toList()));
+    @Override
+    @Transactional(readOnly = true)
+    public CommentPageDto getItemComments(Long itemId, String pageToken, int size) {
+        if (size <= 0 || size > MAX_COMMENT_PAGE_SIZE) {
+            throw new ValidationException("Размер страницы должен быть от 1 до " + MAX_COMMENT_PAGE_SIZE);
+        }
+        if (!itemRepository.existsById(itemId)) {
+            throw new NotFoundException("Объект не найден, id = " + itemId);
         }
+        PageToken.Position after = PageToken.decode(pageToken);
+        List<CommentViewDto> comments = after == null
+                ? commentRepository.findFirstPageByItemId(itemId, Limit.of(size + 1))
+                : commentRepository.findPageByItemIdAfter(itemId, after.timestamp(), after.id(), Limit.of(size + 1));
+        List<CommentViewDto> page = comments.size() > size ? comments.subList(0, size) : comments;
+        String nextPageToken = null;
+        if (comments.size() > size) {
+            CommentViewDto last = page.get(page.size() - 1);
+            nextPageToken = PageToken.encode(last.getCreated(), last.getId());
+        }
+        return CommentPageDto.builder()
+                .comments(page.stream()
+                        .map(CommentMapper.INSTANCE::toCommentDto)
+                        .toList())
+                .nextPageToken(nextPageToken)
+                .build();
+    }
 
-        bookingService.findLastBooking(item)
-                .ifPresent(booking -> itemDto.setLastBooking(BookingMapper.INSTANCE.toBookingDto(booking)));
+    @Override
+    public List<FreeSlotDto> getFreeSlots(Long itemId, LocalDateTime from, LocalDateTime to) {
+        if (!itemRepository.existsById(itemId)) {
+            throw new NotFoundException("Объект не найден, id = " + itemId);
+        }
+        return bookingService.findFreeSlots(itemId, from, to);
+    }
 
-        bookingService.findNextBooking(item)
-                .ifPresent(booking -> itemDto.setNextBooking(BookingMapper.INSTANCE.toBookingDto(booking)));
+    private ItemDetailCache.Entry loadItemDetail(Long itemId) {
+        Item item = itemRepository.findById(itemId)
+                .orElseThrow(() -> new NotFoundException("Объект не найден, id = " + itemId));
+        ItemDto itemDto = ItemMapper.INSTANCE.toItemDto(item);
+        itemDto.setComments(commentRepository.findFirstPageByItemId(itemId, Limit.of(EMBEDDED_COMMENTS))
+                .stream()
+                .map(CommentMapper.INSTANCE::toCommentDto)
+                .toList());
 
-        return itemDto;
+        ItemBookingSummary summary = bookingService.findItemBookingSummaries(List.of(itemId)).get(itemId);
+        applyBookingSummary(itemDto, summary);
+        return new ItemDetailCache.Entry(itemDto, summary == null ? null : summary.getValidUntil());
     }
 
 }
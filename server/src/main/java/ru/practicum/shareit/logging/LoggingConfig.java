@@ -0,0 +1,61 @@
+package ru.practicum.shareit.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.Appender;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.zalando.logbook.Strategy;
+
+import java.util.Set;
+
+@Configuration
+@EnableConfigurationProperties(LoggingProperties.class)
+public class LoggingConfig {
+    static final String SQL_SAMPLING = "sql";
+    static final String CONTROLLER_SAMPLING = "controllers";
+    static final String ASYNC_APPENDER = "ASYNC";
+    static final Set<String> STREAMING_ENDPOINTS = Set.of("GET /items", "POST /users/import");
+
+    @Bean
+    public Strategy slowOrFailedBodyStrategy(LoggingProperties properties) {
+        return new SlowOrFailedBodyStrategy(properties.getSlowRequestThreshold(), properties.getBodyStatusAtLeast(),
+                STREAMING_ENDPOINTS);
+    }
+
+    // logback-spring.xml задаёт только структуру и значения по умолчанию; настройки из shareit.logging
+    // переносятся в уже запущенные фильтры и очередь после привязки свойств.
+    @Bean
+    public SmartInitializingSingleton logbackSettings(LoggingProperties properties) {
+        return () -> {
+            if (LoggerFactory.getILoggerFactory() instanceof LoggerContext context) {
+                apply(context, properties);
+            }
+        };
+    }
+
+    static void apply(LoggerContext context, LoggingProperties properties) {
+        for (TurboFilter filter : context.getTurboFilterList()) {
+            if (filter instanceof SamplingTurboFilter sampling) {
+                if (SQL_SAMPLING.equals(sampling.getName())) {
+                    sampling.setRate(properties.getSampleRate().getSql());
+                } else if (CONTROLLER_SAMPLING.equals(sampling.getName())) {
+                    sampling.setRate(properties.getSampleRate().getControllers());
+                }
+            }
+        }
+        Appender<ILoggingEvent> appender = context.getLogger(Logger.ROOT_LOGGER_NAME).getAppender(ASYNC_APPENDER);
+        if (appender instanceof AsyncAppender async && async.getQueueSize() != properties.getQueueSize()) {
+            // Размер очереди фиксируется при запуске, поэтому аппендер перезапускается; stop дописывает накопленное.
+            async.stop();
+            async.setQueueSize(properties.getQueueSize());
+            async.start();
+        }
+    }
+}
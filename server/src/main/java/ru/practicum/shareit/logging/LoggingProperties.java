@@ -0,0 +1,24 @@
+package ru.practicum.shareit.logging;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit.logging")
+public class LoggingProperties {
+    private Duration slowRequestThreshold = Duration.ofMillis(500);
+    private int bodyStatusAtLeast = 400;
+    private int queueSize = 8192;
+    private SampleRate sampleRate = new SampleRate();
+
+    @Getter
+    @Setter
+    public static class SampleRate {
+        private double sql = 0.01;
+        private double controllers = 0.1;
+    }
+}
@@ -0,0 +1,74 @@
+package ru.practicum.shareit.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import lombok.Setter;
+import org.slf4j.Marker;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+public class SamplingTurboFilter extends TurboFilter {
+    private final ThreadLocal<Boolean> lastSampled = ThreadLocal.withInitial(() -> Boolean.FALSE);
+    private List<String> prefixes = List.of();
+    private List<String> followerPrefixes = List.of();
+    @Setter
+    private volatile double rate = 1.0;
+    private Level maxLevel = Level.INFO;
+
+    public void setLoggers(String loggers) {
+        prefixes = parse(loggers);
+    }
+
+    // События этих логгеров (например, параметры запроса) повторяют решение по последнему событию
+    // основных логгеров в том же потоке, поэтому запрос и его параметры попадают в выборку вместе.
+    public void setFollowers(String loggers) {
+        followerPrefixes = parse(loggers);
+    }
+
+    public void setMaxLevel(String level) {
+        maxLevel = Level.toLevel(level, Level.INFO);
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params,
+                              Throwable t) {
+        if (!isStarted() || rate >= 1.0 || level == null || level.toInt() > maxLevel.toInt()) {
+            return FilterReply.NEUTRAL;
+        }
+        String name = logger.getName();
+        boolean leader = matches(prefixes, name);
+        if (!leader && !matches(followerPrefixes, name)) {
+            return FilterReply.NEUTRAL;
+        }
+        // Проверка уровня (isDebugEnabled) приходит без сообщения; решение принимается один раз,
+        // на самом событии, иначе выборка сужалась бы до rate в квадрате.
+        if (format == null) {
+            return FilterReply.NEUTRAL;
+        }
+        if (leader) {
+            lastSampled.set(ThreadLocalRandom.current().nextDouble() < rate);
+        }
+        return lastSampled.get() ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    private static List<String> parse(String loggers) {
+        return Arrays.stream(loggers.split(","))
+                .map(String::trim)
+                .filter(logger -> !logger.isEmpty())
+                .toList();
+    }
+
+    private static boolean matches(List<String> prefixes, String name) {
+        for (String prefix : prefixes) {
+            if (name.startsWith(prefix)
+                    && (name.length() == prefix.length() || name.charAt(prefix.length()) == '.')) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
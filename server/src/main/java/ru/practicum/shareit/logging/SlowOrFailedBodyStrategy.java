@@ -0,0 +1,61 @@
+package ru.practicum.shareit.logging;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.zalando.logbook.Correlation;
+import org.zalando.logbook.HttpRequest;
+import org.zalando.logbook.HttpResponse;
+import org.zalando.logbook.Precorrelation;
+import org.zalando.logbook.Sink;
+import org.zalando.logbook.Strategy;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+
+@RequiredArgsConstructor
+public class SlowOrFailedBodyStrategy implements Strategy {
+    private final Duration slowRequestThreshold;
+    private final int failureStatus;
+    private final Set<String> streamingEndpoints;
+
+    @Override
+    public HttpRequest process(HttpRequest request) throws IOException {
+        // Потоковые тела могут быть сколь угодно большими, поэтому для логирования они не буферизуются.
+        return isStreaming(request) ? request.withoutBody() : request.withBody();
+    }
+
+    // Решение о буферизации ответа принимается до вызова контроллера, когда тип ответа ещё не задан,
+    // поэтому потоковый ответ узнаётся по запросу.
+    @Override
+    public HttpResponse process(HttpRequest request, HttpResponse response) throws IOException {
+        return isStreaming(request) ? response.withoutBody() : response.withBody();
+    }
+
+    @Override
+    public void write(Precorrelation precorrelation, HttpRequest request, Sink sink) {
+        // Запрос и ответ пишутся вместе, когда результат уже известен.
+    }
+
+    @Override
+    public void write(Correlation correlation, HttpRequest request, HttpResponse response, Sink sink)
+            throws IOException {
+        if (response.getStatus() >= failureStatus || correlation.getDuration().compareTo(slowRequestThreshold) >= 0) {
+            sink.writeBoth(correlation, request, response);
+        } else {
+            sink.writeBoth(correlation, request.withoutBody(), response.withoutBody());
+        }
+    }
+
+    private boolean isStreaming(HttpRequest request) {
+        String accept = request.getHeaders().getFirst(HttpHeaders.ACCEPT);
+        return isNdjson(request.getContentType())
+                || accept != null && accept.contains(MediaType.APPLICATION_NDJSON_VALUE)
+                || streamingEndpoints.contains(request.getMethod() + " " + request.getPath());
+    }
+
+    private static boolean isNdjson(String contentType) {
+        return contentType != null && contentType.startsWith(MediaType.APPLICATION_NDJSON_VALUE);
+    }
+}
@@ -0,0 +1,22 @@
+package ru.practicum.shareit.pagination;
+
+import org.springframework.http.ResponseEntity;
+
+import java.util.Collection;
+
+// Общий контракт постраничных списков: тело — массив, токен следующей страницы — в заголовке,
+// продолжение запрашивается параметром pageToken.
+public final class PageResponse {
+    public static final String NEXT_PAGE_TOKEN_HEADER = "X-Next-Page-Token";
+
+    private PageResponse() {
+    }
+
+    public static <T> ResponseEntity<Collection<T>> of(Collection<T> items, String nextPageToken) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (nextPageToken != null) {
+            response.header(NEXT_PAGE_TOKEN_HEADER, nextPageToken);
+        }
+        return response.body(items);
+    }
+}
@@ -4,7 +4,9 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.pagination.PageResponse;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.dto.ItemRequestPageDto;
 import ru.practicum.shareit.request.service.ItemRequestService;
 
 import java.util.Collection;
@@ -37,11 +39,11 @@ public class ItemRequestController {
     @GetMapping("/all")
     public ResponseEntity<Collection<ItemRequestDto>> getAllItemRequests(
             @RequestHeader("X-Sharer-User-Id") Long userId,
-            @RequestParam(defaultValue = "0") int from,
+            @RequestParam(required = false) String pageToken,
             @RequestParam(defaultValue = "10") int size) {
-        log.info("Get all item requests: userId={}, from={}, size={}", userId, from, size);
-        Collection<ItemRequestDto> requests = itemRequestService.getAllItemRequests(userId, from, size);
-        return ResponseEntity.ok(requests);
+        log.info("Get all item requests: userId={}, pageToken={}, size={}", userId, pageToken, size);
+        ItemRequestPageDto requests = itemRequestService.getAllItemRequests(userId, pageToken, size);
+        return PageResponse.of(requests.getRequests(), requests.getNextPageToken());
     }
 
     @GetMapping
@@ -0,0 +1,13 @@
+package ru.practicum.shareit.request.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@Builder
+public class ItemRequestPageDto {
+    private List<ItemRequestDto> requests;
+    private String nextPageToken;
+}
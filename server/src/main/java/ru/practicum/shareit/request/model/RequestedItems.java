@@ -16,7 +16,8 @@ import java.time.LocalDateTime;
 @Setter
 public class RequestedItems {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "requested_items_seq")
+    @SequenceGenerator(name = "requested_items_seq", sequenceName = "requested_items_seq", allocationSize = 50)
     private Long id;
 
     @OneToOne(fetch = FetchType.LAZY, targetEntity = Item.class)
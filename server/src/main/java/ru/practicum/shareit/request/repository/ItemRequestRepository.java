@@ -1,13 +1,29 @@
 package ru.practicum.shareit.request.repository;
 
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.request.model.ItemRequest;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
     List<ItemRequest> findByUserIdOrderByCreatedDesc(Long userId);
 
-    List<ItemRequest> findByUserIdNotOrderByCreatedDesc(Long userId, Pageable pageable);
+    @Query("SELECT r FROM ItemRequest r " +
+            "WHERE r.userId <> :userId " +
+            "ORDER BY r.created DESC, r.id DESC")
+    List<ItemRequest> findFeed(@Param("userId") Long userId, Limit limit);
+
+    // Продолжение ленты ищется по индексу (created, id), поэтому глубина прокрутки не влияет на стоимость.
+    @Query("SELECT r FROM ItemRequest r " +
+            "WHERE r.userId <> :userId " +
+            "AND (r.created < :afterCreated OR (r.created = :afterCreated AND r.id < :afterId)) " +
+            "ORDER BY r.created DESC, r.id DESC")
+    List<ItemRequest> findFeedAfter(@Param("userId") Long userId,
+                                    @Param("afterCreated") LocalDateTime afterCreated,
+                                    @Param("afterId") Long afterId,
+                                    Limit limit);
 }
@@ -1,11 +1,18 @@
 package ru.practicum.shareit.request.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
-import ru.practicum.shareit.request.model.ItemRequest;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.request.model.RequestedItems;
 
 import java.util.Collection;
+import java.util.List;
 
 public interface RequestItemsRepository extends JpaRepository<RequestedItems, Long> {
-    Collection<RequestedItems> findByRequest(ItemRequest request);
+
+    @Query("SELECT ri FROM RequestedItems ri " +
+            "JOIN FETCH ri.item " +
+            "WHERE ri.request.id IN :requestIds " +
+            "ORDER BY ri.id")
+    List<RequestedItems> findAllWithItemsByRequestIdIn(@Param("requestIds") Collection<Long> requestIds);
 }
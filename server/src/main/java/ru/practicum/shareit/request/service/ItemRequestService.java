@@ -2,6 +2,7 @@ package ru.practicum.shareit.request.service;
 
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.dto.ItemRequestPageDto;
 import ru.practicum.shareit.request.dto.RequestItemsDto;
 import ru.practicum.shareit.request.model.ItemRequest;
 
@@ -18,5 +19,5 @@ public interface ItemRequestService {
 
     ItemRequest findItemRequestById(Long requestId);
 
-    Collection<ItemRequestDto> getAllItemRequests(Long userId, int from, int size);
+    ItemRequestPageDto getAllItemRequests(Long userId, String pageToken, int size);
 }
\ No newline at end of file
@@ -1,17 +1,20 @@
 package ru.practicum.shareit.request.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.PageToken;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestMapper;
+import ru.practicum.shareit.request.dto.ItemRequestPageDto;
 import ru.practicum.shareit.request.dto.RequestItemsDto;
 import ru.practicum.shareit.request.dto.RequestItemsMapper;
 import ru.practicum.shareit.request.model.ItemRequest;
@@ -23,12 +26,17 @@ import ru.practicum.shareit.user.service.UserService;
 import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @Service
+@Timed(value = "shareit.service", histogram = true)
 @Slf4j
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class ItemRequestServiceImpl implements ItemRequestService {
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final ItemRequestRepository itemRequestRepository;
     private final UserService userService;
     private final RequestItemsRepository requestItemsRepository;
@@ -37,7 +45,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     @Transactional
     public ItemRequestDto createItemRequest(Long userId, ItemRequestDto itemRequestDto) {
         log.info("Creating item request: userId={}, itemRequestDto={}", userId, itemRequestDto);
-        userService.getUserById(userId);
+        checkUserExists(userId);
         ItemRequest itemRequest = ItemRequestMapper.INSTANCE.toItemRequest(itemRequestDto);
         itemRequest.setUserId(userId);
         itemRequest.setCreated(LocalDateTime.now());
@@ -49,24 +57,22 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     @Override
     public Collection<ItemRequestDto> getItemRequestsByUser(Long userId) {
         log.info("Getting item requests by user: userId={}", userId);
-        userService.getUserById(userId);
+        checkUserExists(userId);
 
-        return itemRequestRepository.findByUserIdOrderByCreatedDesc(userId).stream()
-                .map(this::loadRequestedItems)
-                .toList();
+        return loadRequestedItems(itemRequestRepository.findByUserIdOrderByCreatedDesc(userId));
     }
 
     @Override
     public ItemRequestDto getItemRequestById(Long requestId, Long userId) {
         log.info("Getting item request by ID: requestId={}, userId={}", requestId, userId);
-        userService.getUserById(userId);
+        checkUserExists(userId);
 
         ItemRequest itemRequest = itemRequestRepository.findById(requestId)
                 .orElseThrow(() -> new NotFoundException(
                         String.format("Item request with ID %d not found", requestId))
                 );
 
-        return loadRequestedItems(itemRequest);
+        return loadRequestedItems(List.of(itemRequest)).get(0);
     }
 
     @Override
@@ -98,32 +104,55 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     }
 
     @Override
-    public Collection<ItemRequestDto> getAllItemRequests(Long userId, int from, int size) {
-        log.info("Getting all item requests: userId={}, from={}, size={}", userId, from, size);
-        userService.getUserById(userId);
-        Pageable pageable = PageRequest.of(from / size, size);
-        return itemRequestRepository.findByUserIdNotOrderByCreatedDesc(userId, pageable).stream()
-                .map(ItemRequestMapper.INSTANCE::toItemRequestDto)
+    public ItemRequestPageDto getAllItemRequests(Long userId, String pageToken, int size) {
+        log.info("Getting all item requests: userId={}, pageToken={}, size={}", userId, pageToken, size);
+        checkUserExists(userId);
+        if (size <= 0 || size > MAX_PAGE_SIZE) {
+            throw new ValidationException("Размер страницы должен быть от 1 до " + MAX_PAGE_SIZE);
+        }
+        PageToken.Position after = PageToken.decode(pageToken);
+        List<ItemRequest> requests = after == null
+                ? itemRequestRepository.findFeed(userId, Limit.of(size + 1))
+                : itemRequestRepository.findFeedAfter(userId, after.timestamp(), after.id(), Limit.of(size + 1));
+        List<ItemRequest> page = requests.size() > size ? requests.subList(0, size) : requests;
+        String nextPageToken = null;
+        if (requests.size() > size) {
+            ItemRequest last = page.get(page.size() - 1);
+            nextPageToken = PageToken.encode(last.getCreated(), last.getId());
+        }
+        return ItemRequestPageDto.builder()
+                .requests(loadRequestedItems(page))
+                .nextPageToken(nextPageToken)
+                .build();
+    }
+
+    // Вещи всех запросов страницы загружаются одним запросом и раскладываются по запросам в памяти.
+    private List<ItemRequestDto> loadRequestedItems(List<ItemRequest> itemRequests) {
+        log.info("Loading requested items for {} item requests", itemRequests.size());
+        if (itemRequests.isEmpty()) {
+            return List.of();
+        }
+        List<Long> requestIds = itemRequests.stream()
+                .map(ItemRequest::getId)
+                .toList();
+        Map<Long, List<ItemDto>> itemsByRequest = requestItemsRepository.findAllWithItemsByRequestIdIn(requestIds)
+                .stream()
+                .collect(Collectors.groupingBy(requestedItem -> requestedItem.getRequest().getId(),
+                        Collectors.mapping(requestedItem -> ItemMapper.INSTANCE.toItemDto(requestedItem.getItem()),
+                                Collectors.toList())));
+
+        return itemRequests.stream()
+                .map(itemRequest -> {
+                    ItemRequestDto itemRequestDto = ItemRequestMapper.INSTANCE.toItemRequestDto(itemRequest);
+                    itemRequestDto.setItems(itemsByRequest.getOrDefault(itemRequest.getId(), List.of()));
+                    return itemRequestDto;
+                })
                 .toList();
     }
 
-    @Transactional
-    private ItemRequestDto loadRequestedItems(ItemRequest itemRequest) {
-        log.info("Loading requested items for item request: requestId={}", itemRequest.getId());
-        Collection<RequestedItems> requestedItems = requestItemsRepository.findByRequest(itemRequest);
-
-        List<ItemDto> itemDtos = requestedItems.stream()
-                .map(requestedItem -> {
-                    Item item = requestedItem.getItem();
-                    if (item == null) {
-                        throw new IllegalStateException("Item not found for requested item");
-                    }
-                    return ItemMapper.INSTANCE.toItemDto(item);
-                }).toList();
-
-        ItemRequestDto itemRequestDto = ItemRequestMapper.INSTANCE.toItemRequestDto(itemRequest);
-        itemRequestDto.setItems(itemDtos);
-
-        return itemRequestDto;
+    private void checkUserExists(Long userId) {
+        if (!userService.existsUser(userId)) {
+            throw new NotFoundException(String.format("User with ID %d not found", userId));
+        }
     }
-}
\ No newline at end of file
+}
@@ -1,14 +1,20 @@
 package ru.practicum.shareit.user.controller;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserImportService;
 import ru.practicum.shareit.user.service.UserServiceImpl;
 
+import java.io.IOException;
+
 
 @RestController
 @RequiredArgsConstructor
@@ -16,6 +22,7 @@ import ru.practicum.shareit.user.service.UserServiceImpl;
 @RequestMapping(path = "/users")
 public class UserController {
     private final UserServiceImpl userService;
+    private final UserImportService userImportService;
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
@@ -25,6 +32,14 @@ public class UserController {
         return ResponseEntity.ok().body(newUser);
     }
 
+    @PostMapping(path = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE,
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void importUsers(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        log.info("Получен POST-запрос к /users/import");
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        userImportService.importUsers(request.getInputStream(), response.getOutputStream());
+    }
+
     @PatchMapping("/{id}")
     public ResponseEntity<UserDto> updateUser(@Valid @RequestBody UserDto user, @PathVariable Long id) {
         log.info("Получен Patch-запрос к /items с userId = {} и телом: {}", id, user);
@@ -0,0 +1,12 @@
+package ru.practicum.shareit.user.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class UserImportLine {
+    private long line;
+    private UserDto user;
+    private String error;
+}
@@ -0,0 +1,16 @@
+package ru.practicum.shareit.user.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class UserImportResultDto {
+    private long line;
+    private UserImportStatus status;
+    private Long id;
+    private String email;
+    private String error;
+}
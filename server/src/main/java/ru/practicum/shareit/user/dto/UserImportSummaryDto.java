@@ -0,0 +1,15 @@
+package ru.practicum.shareit.user.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class UserImportSummaryDto {
+    private long created;
+    private long duplicates;
+    private long invalid;
+    private String error;
+}
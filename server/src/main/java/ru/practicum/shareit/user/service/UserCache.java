@@ -0,0 +1,65 @@
+package ru.practicum.shareit.user.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.datasource.ReplicaReads;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.util.Optional;
+import java.util.function.Function;
+
+@Component
+@EnableConfigurationProperties(UserCacheProperties.class)
+public class UserCache {
+    private final Cache<Long, UserDto> users;
+
+    public UserCache(UserCacheProperties properties, MeterRegistry meterRegistry) {
+        this.users = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, users, "users");
+    }
+
+    public Optional<UserDto> get(Long userId, Function<Long, Optional<UserDto>> loader) {
+        // Прочитанное из реплики может отставать от основной базы, поэтому в общий кэш не попадает.
+        if (ReplicaReads.isRequested()) {
+            UserDto cached = users.getIfPresent(userId);
+            return cached != null ? Optional.of(cached) : loader.apply(userId);
+        }
+        // Загрузка и запись идут атомарно: invalidate из evict дождётся её и не оставит в кэше старую версию.
+        return Optional.ofNullable(users.get(userId, id -> {
+            UserDto loaded = loader.apply(id).orElse(null);
+            if (loaded != null) {
+                evictAfterCompletion(id, false);
+            }
+            return loaded;
+        }));
+    }
+
+    public void evict(Long userId) {
+        users.invalidate(userId);
+        evictAfterCompletion(userId, true);
+    }
+
+    private void evictAfterCompletion(Long userId, boolean always) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (always || status != STATUS_COMMITTED) {
+                    users.invalidate(userId);
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,146 @@
+package ru.practicum.shareit.user.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.dto.UserImportLine;
+import ru.practicum.shareit.user.dto.UserImportResultDto;
+import ru.practicum.shareit.user.dto.UserImportStatus;
+import ru.practicum.shareit.user.dto.UserImportSummaryDto;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Slf4j
+@Service
+public class UserImportService {
+    static final int CHUNK_SIZE = 500;
+
+    private final UserService userService;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter resultWriter;
+    private final ObjectWriter summaryWriter;
+    private final Validator validator;
+
+    @Autowired
+    public UserImportService(UserService userService, ObjectMapper objectMapper, Validator validator) {
+        this.userService = userService;
+        this.objectMapper = objectMapper;
+        this.resultWriter = objectMapper.writerFor(UserImportResultDto.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.summaryWriter = objectMapper.writerFor(UserImportSummaryDto.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.validator = validator;
+    }
+
+    public void importUsers(InputStream input, OutputStream output) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        List<UserImportLine> chunk = new ArrayList<>(CHUNK_SIZE);
+        Map<UserImportStatus, Long> counts = new EnumMap<>(UserImportStatus.class);
+        String error = null;
+        long lineNumber = 0;
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                chunk.add(parse(lineNumber, line));
+                if (chunk.size() == CHUNK_SIZE) {
+                    importChunk(chunk, output, counts);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                importChunk(chunk, output, counts);
+            }
+        } catch (RuntimeException e) {
+            // Статус 200 и часть результатов уже отправлены, поэтому сбой сообщается итоговой строкой.
+            log.error("Импорт пользователей прерван на строке {}", lineNumber, e);
+            error = "Импорт прерван на строке " + lineNumber + " из-за внутренней ошибки";
+        }
+        summaryWriter.writeValue(output, UserImportSummaryDto.builder()
+                .created(counts.getOrDefault(UserImportStatus.CREATED, 0L))
+                .duplicates(counts.getOrDefault(UserImportStatus.DUPLICATE, 0L))
+                .invalid(counts.getOrDefault(UserImportStatus.INVALID, 0L))
+                .error(error)
+                .build());
+        output.write('\n');
+        output.flush();
+        log.info("Импорт пользователей завершён: строк = {}, создано = {}", lineNumber,
+                counts.getOrDefault(UserImportStatus.CREATED, 0L));
+    }
+
+    private UserImportLine parse(long lineNumber, String line) {
+        UserDto user;
+        try {
+            user = objectMapper.readValue(line, UserDto.class);
+        } catch (JsonProcessingException e) {
+            return new UserImportLine(lineNumber, null, "Некорректный JSON");
+        }
+        if (user.getEmail() == null || user.getEmail().isBlank()) {
+            return new UserImportLine(lineNumber, user, "Почта не может быть пустой.");
+        }
+        if (user.getName() == null || user.getName().isBlank()) {
+            return new UserImportLine(lineNumber, user, "Имя не может быть пустым");
+        }
+        Set<ConstraintViolation<UserDto>> violations = validator.validate(user);
+        if (!violations.isEmpty()) {
+            ConstraintViolation<UserDto> violation = violations.iterator().next();
+            return new UserImportLine(lineNumber, user, violation.getPropertyPath() + ": " + violation.getMessage());
+        }
+        return new UserImportLine(lineNumber, user, null);
+    }
+
+    private void importChunk(List<UserImportLine> chunk, OutputStream output, Map<UserImportStatus, Long> counts)
+            throws IOException {
+        List<UserImportResultDto> results;
+        try {
+            results = userService.importUsers(chunk);
+        } catch (DataIntegrityViolationException e) {
+            // Параллельный импорт занял одну из почт после проверки; построчный повтор завершается
+            // при любом числе таких гонок.
+            results = importLineByLine(chunk);
+        }
+        for (UserImportResultDto result : results) {
+            resultWriter.writeValue(output, result);
+            output.write('\n');
+            counts.merge(result.getStatus(), 1L, Long::sum);
+        }
+        output.flush();
+    }
+
+    private List<UserImportResultDto> importLineByLine(List<UserImportLine> chunk) {
+        List<UserImportResultDto> results = new ArrayList<>(chunk.size());
+        for (UserImportLine line : chunk) {
+            try {
+                results.addAll(userService.importUsers(List.of(line)));
+            } catch (DataIntegrityViolationException e) {
+                results.add(UserImportResultDto.builder()
+                        .line(line.getLine())
+                        .status(UserImportStatus.DUPLICATE)
+                        .email(line.getUser().getEmail())
+                        .build());
+            }
+        }
+        return results;
+    }
+}
@@ -1,8 +1,11 @@
 package ru.practicum.shareit.user.service;
 
 import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.dto.UserImportLine;
+import ru.practicum.shareit.user.dto.UserImportResultDto;
 
 import java.util.Collection;
+import java.util.List;
 
 public interface UserService {
     UserDto createUser(UserDto userDto);
@@ -13,6 +16,10 @@ public interface UserService {
 
     UserDto getUserById(Long userId);
 
+    boolean existsUser(Long userId);
+
     Collection<UserDto> findAll();
 
+    List<UserImportResultDto> importUsers(List<UserImportLine> lines);
+
 }
@@ -1,25 +1,39 @@
 package ru.practicum.shareit.user.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.datasource.ReplicaReads;
 import ru.practicum.shareit.exception.EmailExistException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.dto.UserImportLine;
+import ru.practicum.shareit.user.dto.UserImportResultDto;
+import ru.practicum.shareit.user.dto.UserImportStatus;
 import ru.practicum.shareit.user.dto.UserMapper;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 
 @Service
+@Timed(value = "shareit.service", histogram = true)
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
+    private final UserCache userCache;
 
     @Override
     @Transactional
@@ -29,11 +43,12 @@ public class UserServiceImpl implements UserService {
             throw new ValidationException("Почта не может быть пустой.");
         }
         try {
-            userRepository.save(user);
+            user = userRepository.saveAndFlush(user);
         } catch (DataIntegrityViolationException exception) {
             throw new EmailExistException("Почта уже используется");
         }
-        return UserMapper.INSTANCE.toUserDto(userRepository.save(user));
+        ReplicaReads.recordWrite(user.getId());
+        return UserMapper.INSTANCE.toUserDto(user);
     }
 
     @Override
@@ -48,6 +63,8 @@ public class UserServiceImpl implements UserService {
             newUser.setEmail(userDto.getEmail());
         }
         User updatedUser = userRepository.save(newUser);
+        userCache.evict(userId);
+        ReplicaReads.recordWrite(userId);
         return UserMapper.INSTANCE.toUserDto(updatedUser);
     }
 
@@ -57,13 +74,19 @@ public class UserServiceImpl implements UserService {
         User newUser = userRepository.findById(userId)
                 .orElseThrow(() -> new NotFoundException("Объект не найден, id = " + userId));
         userRepository.deleteById(userId);
+        userCache.evict(userId);
         return UserMapper.INSTANCE.toUserDto(newUser);
     }
 
     @Override
     public UserDto getUserById(Long userId) {
-        return UserMapper.INSTANCE.toUserDto(userRepository.findById(userId)
-                .orElseThrow(() -> new NotFoundException("Объект не найден, id = " + userId)));
+        return findCachedUser(userId)
+                .orElseThrow(() -> new NotFoundException("Объект не найден, id = " + userId));
+    }
+
+    @Override
+    public boolean existsUser(Long userId) {
+        return findCachedUser(userId).isPresent();
     }
 
     @Override
@@ -73,4 +96,49 @@ public class UserServiceImpl implements UserService {
                 .toList();
     }
 
+    @Override
+    @Transactional
+    public List<UserImportResultDto> importUsers(List<UserImportLine> lines) {
+        Set<String> emails = lines.stream()
+                .filter(line -> line.getError() == null)
+                .map(line -> line.getUser().getEmail())
+                .collect(Collectors.toSet());
+        Set<String> existing = emails.isEmpty() ? Set.of() : userRepository.findExistingEmails(emails);
+
+        Set<String> accepted = new HashSet<>();
+        List<User> users = new ArrayList<>();
+        for (UserImportLine line : lines) {
+            if (line.getError() == null && !existing.contains(line.getUser().getEmail())
+                    && accepted.add(line.getUser().getEmail())) {
+                User user = UserMapper.INSTANCE.toUser(line.getUser());
+                user.setId(null);
+                users.add(user);
+            }
+        }
+        userRepository.saveAll(users);
+        userRepository.flush();
+
+        Iterator<User> created = users.iterator();
+        Set<String> reported = new HashSet<>();
+        List<UserImportResultDto> results = new ArrayList<>(lines.size());
+        for (UserImportLine line : lines) {
+            UserImportResultDto.UserImportResultDtoBuilder result = UserImportResultDto.builder()
+                    .line(line.getLine());
+            if (line.getError() != null) {
+                result.status(UserImportStatus.INVALID).error(line.getError());
+            } else if (accepted.contains(line.getUser().getEmail()) && reported.add(line.getUser().getEmail())) {
+                User user = created.next();
+                result.status(UserImportStatus.CREATED).id(user.getId()).email(user.getEmail());
+            } else {
+                result.status(UserImportStatus.DUPLICATE).email(line.getUser().getEmail());
+            }
+            results.add(result.build());
+        }
+        return results;
+    }
+
+    private Optional<UserDto> findCachedUser(Long userId) {
+        return userCache.get(userId, id -> userRepository.findById(id).map(UserMapper.INSTANCE::toUserDto));
+    }
+
 }
@@ -1,12 +1,21 @@
+DROP TABLE IF EXISTS item_booking_summaries CASCADE;
 DROP TABLE IF EXISTS comments CASCADE;
+DROP TABLE IF EXISTS bookings_archive CASCADE;
 DROP TABLE IF EXISTS bookings CASCADE;
 DROP TABLE IF EXISTS items CASCADE;
 DROP TABLE IF EXISTS users CASCADE;
 DROP TABLE IF EXISTS requests CASCADE;
 DROP TABLE IF EXISTS requested_items CASCADE;
 
+CREATE SEQUENCE IF NOT EXISTS users_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS items_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS bookings_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS comments_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS requests_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS requested_items_seq START WITH 1 INCREMENT BY 50;
+
 CREATE TABLE IF NOT EXISTS users (
-  id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+  id BIGINT NOT NULL,
   name VARCHAR(255) NOT NULL,
   email VARCHAR(255) NOT NULL,
   CONSTRAINT pk_users PRIMARY KEY (id),
@@ -14,17 +23,18 @@ CREATE TABLE IF NOT EXISTS users (
 );
 
 CREATE TABLE IF NOT EXISTS items (
-    id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    id BIGINT NOT NULL,
     name VARCHAR(255) NOT NULL,
     description VARCHAR(512) NOT NULL,
     available BOOLEAN,
     owner_id BIGINT NOT NULL,
+    comment_count INT DEFAULT 0 NOT NULL,
     CONSTRAINT pk_items PRIMARY KEY (id),
     FOREIGN KEY (owner_id) REFERENCES users(id)
 );
 
 CREATE TABLE IF NOT EXISTS bookings (
-    id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    id BIGINT NOT NULL,
     start_date TIMESTAMP NOT NULL,
     end_date TIMESTAMP NOT NULL,
     booker_id BIGINT NOT NULL,
@@ -35,8 +45,32 @@ CREATE TABLE IF NOT EXISTS bookings (
     FOREIGN KEY (item_id) REFERENCES items(id)
 );
 
+CREATE TABLE IF NOT EXISTS bookings_archive (
+    id BIGINT NOT NULL,
+    start_date TIMESTAMP NOT NULL,
+    end_date TIMESTAMP NOT NULL,
+    booker_id BIGINT NOT NULL,
+    item_id BIGINT NOT NULL,
+    status VARCHAR(10) NOT NULL,
+    archived_at TIMESTAMP NOT NULL,
+    CONSTRAINT pk_bookings_archive PRIMARY KEY (id),
+    FOREIGN KEY (booker_id) REFERENCES users(id),
+    FOREIGN KEY (item_id) REFERENCES items(id)
+);
+
+CREATE TABLE IF NOT EXISTS item_booking_summaries (
+    item_id BIGINT NOT NULL,
+    last_booking_id BIGINT,
+    next_booking_id BIGINT,
+    valid_until TIMESTAMP,
+    CONSTRAINT pk_item_booking_summaries PRIMARY KEY (item_id),
+    FOREIGN KEY (item_id) REFERENCES items(id) ON DELETE CASCADE,
+    FOREIGN KEY (last_booking_id) REFERENCES bookings(id) ON DELETE SET NULL,
+    FOREIGN KEY (next_booking_id) REFERENCES bookings(id) ON DELETE SET NULL
+);
+
 CREATE TABLE IF NOT EXISTS comments (
-    id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    id BIGINT NOT NULL,
     user_id BIGINT NOT NULL,
     item_id BIGINT NOT NULL,
     text VARCHAR(255)  NOT NULL,
@@ -47,7 +81,7 @@ CREATE TABLE IF NOT EXISTS comments (
 );
 
 CREATE TABLE IF NOT EXISTS requests (
-    id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    id BIGINT NOT NULL,
     description VARCHAR(512) NOT NULL,
     created TIMESTAMP NOT NULL,
     requester_id BIGINT NOT NULL,
@@ -56,7 +90,7 @@ CREATE TABLE IF NOT EXISTS requests (
 );
 
 CREATE TABLE IF NOT EXISTS requested_items (
-    id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    id BIGINT NOT NULL,
     item_id BIGINT NOT NULL,
     request_id BIGINT NOT NULL,
     created TIMESTAMP NOT NULL,
@@ -64,4 +98,24 @@ CREATE TABLE IF NOT EXISTS requested_items (
     CONSTRAINT uq_requested_item_id_request_id UNIQUE(item_id, request_id),
     FOREIGN KEY (item_id) REFERENCES items(id),
     FOREIGN KEY (request_id) REFERENCES requests(id)
-);
\ No newline at end of file
+);
+
+CREATE INDEX IF NOT EXISTS ix_items_owner_id ON items (owner_id);
+
+CREATE INDEX IF NOT EXISTS ix_bookings_booker_start ON bookings (booker_id, start_date DESC);
+CREATE INDEX IF NOT EXISTS ix_bookings_booker_status_start ON bookings (booker_id, status, start_date DESC);
+CREATE INDEX IF NOT EXISTS ix_bookings_item_status_start ON bookings (item_id, status, start_date);
+CREATE INDEX IF NOT EXISTS ix_bookings_item_status_end ON bookings (item_id, status, end_date);
+CREATE INDEX IF NOT EXISTS ix_bookings_end ON bookings (end_date);
+
+CREATE INDEX IF NOT EXISTS ix_bookings_archive_booker_start ON bookings_archive (booker_id, start_date DESC);
+CREATE INDEX IF NOT EXISTS ix_bookings_archive_item_start ON bookings_archive (item_id, start_date DESC);
+
+CREATE INDEX IF NOT EXISTS ix_item_booking_summaries_valid_until ON item_booking_summaries (valid_until);
+
+CREATE INDEX IF NOT EXISTS ix_comments_item_created_id ON comments (item_id, created DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS ix_requests_requester_created ON requests (requester_id, created DESC);
+CREATE INDEX IF NOT EXISTS ix_requests_created_id ON requests (created DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS ix_requested_items_request_id ON requested_items (request_id);
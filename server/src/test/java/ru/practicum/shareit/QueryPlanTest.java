@@ -0,0 +1,166 @@
+package ru.practicum.shareit;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import ru.practicum.shareit.booking.dto.StateDto;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingArchiveRepository;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.repository.BookingViewRepository;
+import ru.practicum.shareit.booking.repository.ItemBookingSummaryRepository;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.request.repository.RequestItemsRepository;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Transactional
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class QueryPlanTest {
+    final EntityManager entityManager;
+    final BookingRepository bookingRepository;
+    final BookingArchiveRepository bookingArchiveRepository;
+    final ItemBookingSummaryRepository itemBookingSummaryRepository;
+    final ItemRepository itemRepository;
+    final CommentRepository commentRepository;
+    final ItemRequestRepository itemRequestRepository;
+    final RequestItemsRepository requestItemsRepository;
+
+    @Test
+    public void repositoryQueriesDoNotScanWholeTablesTest() {
+        Map<Class<?>, Object> repositories = Map.of(
+                BookingRepository.class, bookingRepository,
+                BookingViewRepository.class, bookingRepository,
+                BookingArchiveRepository.class, bookingArchiveRepository,
+                ItemBookingSummaryRepository.class, itemBookingSummaryRepository,
+                ItemRepository.class, itemRepository,
+                CommentRepository.class, commentRepository,
+                ItemRequestRepository.class, itemRequestRepository,
+                RequestItemsRepository.class, requestItemsRepository
+        );
+
+        List<String> failures = new ArrayList<>();
+        int checkedMethods = 0;
+        for (Map.Entry<Class<?>, Object> repository : repositories.entrySet()) {
+            for (Method method : repository.getKey().getDeclaredMethods()) {
+                String name = repository.getKey().getSimpleName() + "." + method.getName();
+                checkedMethods++;
+                for (StateDto state : statesFor(method)) {
+                    List<String> statements = SqlCaptureInspector.capture(
+                            () -> invoke(repository.getValue(), method, state));
+                    assertFalse(statements.isEmpty(), name + " не выполнил ни одного запроса");
+                    for (String sql : statements) {
+                        String plan = explain(sql);
+                        if (plan.contains(".tableScan")) {
+                            failures.add(name + (state == null ? "" : " [" + state + "]")
+                                    + " выполняет полный просмотр таблицы:\n" + plan);
+                        }
+                    }
+                }
+            }
+        }
+
+        assertTrue(checkedMethods > 0, "Не проверено ни одного метода репозиториев");
+        assertTrue(failures.isEmpty(), String.join("\n\n", failures));
+    }
+
+    private List<StateDto> statesFor(Method method) {
+        boolean hasState = Arrays.asList(method.getParameterTypes()).contains(StateDto.class);
+        return hasState ? List.of(StateDto.values()) : Collections.singletonList(null);
+    }
+
+    private void invoke(Object repository, Method method, StateDto state) {
+        Object[] arguments = Arrays.stream(method.getGenericParameterTypes())
+                .map(type -> type == StateDto.class ? state : sampleArgument(type))
+                .toArray();
+        try {
+            Object result = method.invoke(repository, arguments);
+            if (result instanceof Stream<?> stream) {
+                try (stream) {
+                    stream.findFirst();
+                }
+            }
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException("Не удалось вызвать " + method, e);
+        }
+    }
+
+    private Object sampleArgument(Type genericType) {
+        if (genericType instanceof ParameterizedType parameterized
+                && Collection.class.isAssignableFrom((Class<?>) parameterized.getRawType())) {
+            return List.of(sampleArgument(parameterized.getActualTypeArguments()[0]));
+        }
+        Class<?> type = (Class<?>) genericType;
+        if (type == Long.class || type == long.class) {
+            return 1L;
+        }
+        if (type == Integer.class || type == int.class) {
+            return 10;
+        }
+        if (type == String.class) {
+            return "text";
+        }
+        if (type == LocalDateTime.class) {
+            return LocalDateTime.now();
+        }
+        if (type == BookingStatus.class) {
+            return BookingStatus.APPROVED;
+        }
+        if (type == ScrollPosition.class) {
+            return ScrollPosition.keyset();
+        }
+        if (type == Limit.class) {
+            return Limit.of(10);
+        }
+        if (type == Pageable.class) {
+            return PageRequest.of(0, 10);
+        }
+        if (type.isAnnotationPresent(Entity.class)) {
+            return entityManager.getReference(type, 1L);
+        }
+        throw new IllegalArgumentException("Нет тестового значения для параметра типа " + type);
+    }
+
+    private String explain(String sql) {
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+                int parameters = statement.getParameterMetaData().getParameterCount();
+                for (int i = 1; i <= parameters; i++) {
+                    statement.setObject(i, null);
+                }
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    resultSet.next();
+                    return resultSet.getString(1);
+                }
+            }
+        });
+    }
+}
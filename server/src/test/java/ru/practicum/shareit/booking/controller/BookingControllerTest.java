@@ -10,9 +10,12 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingPageDto;
+import ru.practicum.shareit.booking.dto.BookingSummaryDto;
 import ru.practicum.shareit.booking.dto.StateDto;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.pagination.PageResponse;
 import ru.practicum.shareit.user.dto.UserDto;
 
 import java.time.LocalDateTime;
@@ -116,37 +119,61 @@ class BookingControllerTest {
 
     @Test
     public void findAllBookingsByBookerIdTest() throws Exception {
-        when(bookingService.findByBookerId(Mockito.anyLong(), Mockito.any()))
-                .thenReturn(List.of(bookingDto));
+        when(bookingService.findByBookerId(Mockito.anyLong(), Mockito.any(), Mockito.any(), Mockito.anyInt()))
+                .thenReturn(BookingPageDto.builder()
+                        .bookings(List.of(bookingDto))
+                        .nextPageToken("token")
+                        .build());
 
         mockMvc.perform(get("/bookings")
                         .header("X-Sharer-User-Id", 7L)
                         .param("state", StateDto.ALL.toString()))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(header().string(PageResponse.NEXT_PAGE_TOKEN_HEADER, "token"))
                 .andExpect(jsonPath("$.[0].id", is(bookingDto.getId()), Long.class))
                 .andExpect(jsonPath("$.[0].itemId", is(bookingDto.getItemId()), Long.class))
                 .andExpect(jsonPath("$.[0].status", is(bookingDto.getStatus().name())));
 
         verify(bookingService, Mockito.times(1))
-                .findByBookerId(Mockito.anyLong(), Mockito.any());
+                .findByBookerId(Mockito.anyLong(), Mockito.any(), Mockito.any(), Mockito.anyInt());
     }
 
     @Test
     public void findAllBookingsByOwnerIdTest() throws Exception {
-        when(bookingService.findByOwnerId(Mockito.anyLong(), Mockito.any()))
-                .thenReturn(List.of(bookingDto));
+        when(bookingService.findByOwnerId(Mockito.anyLong(), Mockito.any(), Mockito.any(), Mockito.anyInt()))
+                .thenReturn(BookingPageDto.builder()
+                        .bookings(List.of(bookingDto))
+                        .nextPageToken("token")
+                        .build());
 
         mockMvc.perform(get("/bookings/owner")
                         .header("X-Sharer-User-Id", 7L)
                         .param("state", StateDto.ALL.toString()))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(header().string(PageResponse.NEXT_PAGE_TOKEN_HEADER, "token"))
                 .andExpect(jsonPath("$.[0].id", is(bookingDto.getId()), Long.class))
                 .andExpect(jsonPath("$.[0].itemId", is(bookingDto.getItemId()), Long.class))
                 .andExpect(jsonPath("$.[0].status", is(bookingDto.getStatus().toString())));
 
         verify(bookingService, Mockito.times(1))
-                .findByOwnerId(Mockito.anyLong(), Mockito.any());
+                .findByOwnerId(Mockito.anyLong(), Mockito.any(), Mockito.any(), Mockito.anyInt());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void getOwnerSummaryTest() throws Exception {
+        when(bookingService.getOwnerSummary(7L))
+                .thenReturn(new BookingSummaryDto(6, 1, 2, 1, 1, 1));
+
+        mockMvc.perform(get("/bookings/owner/summary")
+                        .header("X-Sharer-User-Id", 7L))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.all", is(6)))
+                .andExpect(jsonPath("$.past", is(2)))
+                .andExpect(jsonPath("$.rejected", is(1)));
+
+        verify(bookingService, Mockito.times(1)).getOwnerSummary(7L);
+    }
+}
@@ -1,21 +1,39 @@
 package ru.practicum.shareit.booking.service;
 
+import jakarta.persistence.EntityManager;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.SqlCaptureInspector;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingPageDto;
+import ru.practicum.shareit.booking.dto.BookingSummaryDto;
 import ru.practicum.shareit.booking.dto.StateDto;
+import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.model.ItemBookingSummary;
+import ru.practicum.shareit.booking.repository.BookingArchiveRepository;
+import ru.practicum.shareit.booking.repository.ItemBookingSummaryRepository;
+import ru.practicum.shareit.exception.BookingOverlapException;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.dto.FreeSlotDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.service.ItemService;
 import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.service.UserService;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.Collection;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -29,6 +47,13 @@ public class BookingServiceIntegrationTest {
     final BookingService bookingService;
     final UserService userService;
     final ItemService itemService;
+    final EntityManager entityManager;
+    final ItemBookingSummaryRepository itemBookingSummaryRepository;
+    final ItemBookingSummaryScheduler itemBookingSummaryScheduler;
+    final BookingArchiveService bookingArchiveService;
+    final BookingArchiveRepository bookingArchiveRepository;
+    final BookingIntervalIndex bookingIntervalIndex;
+    final PlatformTransactionManager transactionManager;
 
     Long userId;
     Long ownerId;
@@ -96,7 +121,7 @@ public class BookingServiceIntegrationTest {
                 .build();
 
         bookingService.createBooking(userId, bookingDto);
-        Collection<BookingDto> bookings = bookingService.findByBookerId(userId, StateDto.ALL);
+        Collection<BookingDto> bookings = bookingService.findByBookerId(userId, StateDto.ALL, null, 10).getBookings();
 
         assertFalse(bookings.isEmpty(), "Необходимо вернуть хотя бы одно бронирование");
         assertEquals(1, bookings.size(), "Необходимо вернуть одно бронирование");
@@ -111,9 +136,358 @@ public class BookingServiceIntegrationTest {
                 .build();
 
         bookingService.createBooking(userId, bookingDto);
-        Collection<BookingDto> bookings = bookingService.findByOwnerId(ownerId, StateDto.ALL);
+        Collection<BookingDto> bookings = bookingService.findByOwnerId(ownerId, StateDto.ALL, null, 10).getBookings();
 
         assertFalse(bookings.isEmpty(), "Необходимо вернуть хотя бы одно бронирование");
         assertEquals(1, bookings.size(), "Необходимо вернуть одно бронирование");
     }
-}
\ No newline at end of file
+
+    @Test
+    public void findBookingsByBookerIdPagesTest() {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        for (int i = 1; i <= 3; i++) {
+            bookingService.createBooking(userId, BookingDto.builder()
+                    .itemId(itemId)
+                    .start(now.plusDays(i))
+                    .end(now.plusDays(i + 1))
+                    .build());
+        }
+
+        BookingPageDto firstPage = bookingService.findByBookerId(userId, StateDto.WAITING, null, 2);
+        assertEquals(2, firstPage.getBookings().size(), "Первая страница должна содержать два бронирования");
+        assertNotNull(firstPage.getNextPageToken(), "Должен быть токен следующей страницы");
+        assertTrue(firstPage.getBookings().get(0).getStart().isAfter(firstPage.getBookings().get(1).getStart()),
+                "Бронирования должны быть отсортированы по убыванию даты начала");
+
+        BookingPageDto secondPage = bookingService.findByBookerId(userId, StateDto.WAITING,
+                firstPage.getNextPageToken(), 2);
+        assertEquals(1, secondPage.getBookings().size(), "Вторая страница должна содержать одно бронирование");
+        assertNull(secondPage.getNextPageToken(), "Последняя страница не должна содержать токен");
+        assertTrue(secondPage.getBookings().get(0).getStart().isBefore(firstPage.getBookings().get(1).getStart()));
+    }
+
+    @Test
+    public void findBookingsReadsPageWithOneStatementPerTableTest() {
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 1; i <= 5; i++) {
+            bookingService.createBooking(userId, BookingDto.builder()
+                    .itemId(itemId)
+                    .start(now.plusDays(i))
+                    .end(now.plusDays(i + 1))
+                    .build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        List<String> bookerStatements = SqlCaptureInspector.capture(() -> {
+            List<BookingDto> bookings = bookingService.findByBookerId(userId, StateDto.ALL, null, 10).getBookings();
+            assertEquals(5, bookings.size());
+            bookings.forEach(booking -> {
+                assertEquals("TestItem", booking.getItem().getName());
+                assertEquals("bookerName", booking.getBooker().getName());
+            });
+        });
+        assertEquals(2, bookerStatements.size(),
+                "Список бронирований должен читаться одним запросом к горячей таблице и одним к архиву");
+
+        List<String> ownerStatements = SqlCaptureInspector.capture(
+                () -> assertEquals(5, bookingService.findByOwnerId(ownerId, StateDto.ALL, null, 10)
+                        .getBookings().size()));
+        assertEquals(2, ownerStatements.size(),
+                "Список бронирований владельца должен читаться запросом к каждой таблице при закешированном пользователе");
+
+        List<String> waitingStatements = SqlCaptureInspector.capture(
+                () -> assertEquals(5, bookingService.findByBookerId(userId, StateDto.WAITING, null, 10)
+                        .getBookings().size()));
+        assertEquals(1, waitingStatements.size(), "Ожидающие бронирования не должны читать архив");
+    }
+
+    @Test
+    public void bookingSummaryMatchesListsTest() {
+        LocalDateTime now = LocalDateTime.now();
+        approvedBooking(now.minusDays(3), now.minusDays(2));
+        approvedBooking(now.minusHours(1), now.plusHours(1));
+        approvedBooking(now.plusDays(1), now.plusDays(2));
+        bookingService.createBooking(userId, BookingDto.builder()
+                .itemId(itemId)
+                .start(now.plusDays(3))
+                .end(now.plusDays(4))
+                .build());
+        BookingDto rejected = bookingService.createBooking(userId, BookingDto.builder()
+                .itemId(itemId)
+                .start(now.plusDays(5))
+                .end(now.plusDays(6))
+                .build());
+        bookingService.approveBooking(ownerId, rejected.getId(), false);
+        entityManager.flush();
+
+        BookingSummaryDto[] summaries = new BookingSummaryDto[2];
+        List<String> statements = SqlCaptureInspector.capture(() -> {
+            summaries[0] = bookingService.getBookerSummary(userId);
+            summaries[1] = bookingService.getOwnerSummary(ownerId);
+        });
+        assertEquals(4, statements.size(), "Каждая сводка должна считаться запросом к горячей таблице и к архиву");
+
+        for (BookingSummaryDto summary : summaries) {
+            assertEquals(5, summary.getAll());
+            assertEquals(1, summary.getCurrent());
+            assertEquals(1, summary.getPast());
+            assertEquals(1, summary.getFuture());
+            assertEquals(1, summary.getWaiting());
+            assertEquals(1, summary.getRejected());
+        }
+        assertEquals(bookingService.findByBookerId(userId, StateDto.FUTURE, null, 10).getBookings().size(),
+                summaries[0].getFuture());
+        assertEquals(0, bookingService.getBookerSummary(ownerId).getAll());
+    }
+
+    @Test
+    public void itemBookingSummaryIsMaintainedTest() {
+        LocalDateTime now = LocalDateTime.now();
+        Long bookingId = approvedBooking(now.plusDays(1), now.plusDays(2));
+        ItemBookingSummary summary = itemBookingSummaryRepository.findById(itemId).orElseThrow();
+        assertEquals(bookingId, summary.getNextBooking().getId(), "Подтверждение должно обновлять сводку");
+        assertNull(summary.getLastBooking());
+        assertEquals(now.plusDays(1), summary.getValidUntil(), "Сводка устаревает, когда бронирование начнётся");
+
+        // Бронирование уже прошло, а планировщик ещё не сдвинул сводку.
+        Booking booking = entityManager.find(Booking.class, bookingId);
+        booking.setStart(now.minusDays(3));
+        booking.setEnd(now.minusDays(2));
+        summary.setValidUntil(now.minusSeconds(1));
+        entityManager.flush();
+
+        ItemDto item = itemService.getItemById(itemId);
+        assertEquals(bookingId, item.getLastBooking().getId(), "Устаревшая сводка должна досчитываться при чтении");
+        assertNull(item.getNextBooking());
+
+        itemBookingSummaryScheduler.refreshExpired();
+        entityManager.flush();
+        entityManager.clear();
+        summary = itemBookingSummaryRepository.findById(itemId).orElseThrow();
+        assertEquals(bookingId, summary.getLastBooking().getId(), "Планировщик должен сдвинуть сводку");
+        assertNull(summary.getNextBooking());
+        assertNull(summary.getValidUntil());
+    }
+
+    @Test
+    public void archivedBookingsStayVisibleTest() {
+        LocalDateTime now = LocalDateTime.now();
+        Long oldestId = approvedBooking(now.minusDays(50), now.minusDays(49));
+        Long latestOldId = approvedBooking(now.minusDays(40), now.minusDays(39));
+        BookingDto rejected = bookingService.createBooking(userId, BookingDto.builder()
+                .itemId(itemId)
+                .start(now.minusDays(45))
+                .end(now.minusDays(44))
+                .build());
+        bookingService.approveBooking(ownerId, rejected.getId(), false);
+        approvedBooking(now.plusDays(1), now.plusDays(2));
+        entityManager.flush();
+        BookingSummaryDto before = bookingService.getBookerSummary(userId);
+
+        assertEquals(2, bookingArchiveService.archiveBatch(now.minusDays(30), 10),
+                "Последнее завершённое бронирование вещи должно остаться в горячей таблице");
+        assertEquals(0, bookingArchiveService.archiveBatch(now.minusDays(30), 10));
+        entityManager.clear();
+        assertNull(entityManager.find(Booking.class, oldestId));
+
+        assertEquals(oldestId, bookingService.findById(ownerId, oldestId).getId(),
+                "Архивное бронирование должно находиться по id");
+        assertEquals(List.of(latestOldId, oldestId), bookingService.findByBookerId(userId, StateDto.PAST, null, 10)
+                .getBookings().stream().map(BookingDto::getId).toList());
+        assertEquals(rejected.getId(), bookingService.findByOwnerId(ownerId, StateDto.REJECTED, null, 10)
+                .getBookings().get(0).getId());
+        BookingPageDto firstPage = bookingService.findByBookerId(userId, StateDto.ALL, null, 2);
+        BookingPageDto secondPage = bookingService.findByBookerId(userId, StateDto.ALL, firstPage.getNextPageToken(), 2);
+        assertEquals(4, firstPage.getBookings().size() + secondPage.getBookings().size(),
+                "Страницы должны сливать горячую таблицу и архив без пропусков");
+        assertEquals(latestOldId, itemService.getItemById(itemId).getLastBooking().getId());
+
+        BookingSummaryDto after = bookingService.getBookerSummary(userId);
+        assertEquals(before.getAll(), after.getAll());
+        assertEquals(before.getPast(), after.getPast());
+        assertEquals(before.getRejected(), after.getRejected());
+    }
+
+    @Test
+    public void bookingInBothTablesIsListedOnceTest() {
+        LocalDateTime now = LocalDateTime.now();
+        Long bookingId = approvedBooking(now.minusDays(50), now.minusDays(49));
+        entityManager.flush();
+        bookingArchiveRepository.copyFromBookings(List.of(bookingId), now);
+
+        assertEquals(List.of(bookingId), bookingService.findByBookerId(userId, StateDto.ALL, null, 10)
+                        .getBookings().stream().map(BookingDto::getId).toList(),
+                "Бронирование, уже скопированное в архив, но ещё не удалённое, должно попасть в список один раз");
+    }
+
+    private Long approvedBooking(LocalDateTime start, LocalDateTime end) {
+        BookingDto booking = bookingService.createBooking(userId, BookingDto.builder()
+                .itemId(itemId)
+                .start(start)
+                .end(end)
+                .build());
+        return bookingService.approveBooking(ownerId, booking.getId(), true).getId();
+    }
+
+    @Test
+    public void findBookingsWithInvalidPageTokenTest() {
+        assertThrows(ValidationException.class,
+                () -> bookingService.findByOwnerId(ownerId, StateDto.ALL, "not-a-token", 10));
+    }
+
+    @Test
+    public void overlappingBookingIsRejectedTest() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        bookingService.createBooking(userId, BookingDto.builder()
+                .itemId(itemId)
+                .start(start)
+                .end(start.plusDays(2))
+                .build());
+
+        BookingDto overlapping = BookingDto.builder()
+                .itemId(itemId)
+                .start(start.plusDays(1))
+                .end(start.plusDays(3))
+                .build();
+        assertThrows(BookingOverlapException.class, () -> bookingService.createBooking(userId, overlapping),
+                "Пересекающееся бронирование должно быть отклонено");
+
+        BookingDto adjacent = bookingService.createBooking(userId, BookingDto.builder()
+                .itemId(itemId)
+                .start(start.plusDays(2))
+                .end(start.plusDays(3))
+                .build());
+        assertNotNull(adjacent.getId(), "Смежное бронирование должно быть создано");
+    }
+
+    @Test
+    public void overlapWithEnclosingBookingIsFoundTest() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        User booker = entityManager.find(User.class, userId);
+        Item item = entityManager.find(Item.class, itemId);
+        entityManager.persist(Booking.builder().item(item).booker(booker).status(BookingStatus.WAITING)
+                .start(start).end(start.plusDays(5)).build());
+        entityManager.persist(Booking.builder().item(item).booker(booker).status(BookingStatus.WAITING)
+                .start(start.plusDays(6)).end(start.plusDays(7)).build());
+        entityManager.flush();
+
+        BookingDto insideLongBooking = BookingDto.builder()
+                .itemId(itemId)
+                .start(start.plusDays(3))
+                .end(start.plusDays(4))
+                .build();
+        assertThrows(BookingOverlapException.class, () -> bookingService.createBooking(userId, insideLongBooking),
+                "Пересечение с охватывающим бронированием должно быть найдено");
+        BookingDto betweenBookings = BookingDto.builder()
+                .itemId(itemId)
+                .start(start.plusDays(5))
+                .end(start.plusDays(6))
+                .build();
+        assertNotNull(bookingService.createBooking(userId, betweenBookings).getId(),
+                "Промежуток между бронированиями должен быть свободен");
+    }
+
+    @Test
+    public void rollbackKeepsOtherTransactionsReservationsTest() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        bookingService.createBooking(userId, BookingDto.builder()
+                .itemId(itemId)
+                .start(start)
+                .end(start.plusDays(1))
+                .build());
+        TransactionTemplate otherTransaction = new TransactionTemplate(transactionManager);
+        otherTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        otherTransaction.executeWithoutResult(status -> {
+            bookingIntervalIndex.reserve(foreignBooking(-1L, start.plusDays(2), start.plusDays(3)));
+            status.setRollbackOnly();
+        });
+
+        assertThrows(BookingOverlapException.class, () -> otherTransaction.executeWithoutResult(status ->
+                        bookingIntervalIndex.reserve(foreignBooking(-2L, start, start.plusDays(1)))),
+                "Откат чужой транзакции не должен сбрасывать незакоммиченное бронирование");
+    }
+
+    private Booking foreignBooking(Long id, LocalDateTime start, LocalDateTime end) {
+        return Booking.builder()
+                .id(id)
+                .item(entityManager.getReference(Item.class, itemId))
+                .start(start)
+                .end(end)
+                .build();
+    }
+
+    @Test
+    public void createBookingsTest() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        List<BookingDto> bookings = bookingService.createBookings(userId, List.of(
+                BookingDto.builder().itemId(itemId).start(start).end(start.plusDays(1)).build(),
+                BookingDto.builder().itemId(itemId).start(start.plusDays(1)).end(start.plusDays(2)).build()));
+
+        assertEquals(2, bookings.size());
+        bookings.forEach(booking -> assertEquals(BookingStatus.WAITING, booking.getStatus()));
+        assertEquals(2, bookingService.findByBookerId(userId, StateDto.ALL, null, 10).getBookings().size());
+    }
+
+    @Test
+    public void bookingWithoutDatesIsRejectedTest() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        assertThrows(ValidationException.class, () -> bookingService.createBooking(userId, BookingDto.builder()
+                        .itemId(itemId)
+                        .end(start)
+                        .build()),
+                "Бронирование без начала должно отклоняться");
+        assertThrows(ValidationException.class, () -> bookingService.createBookings(userId, List.of(
+                        BookingDto.builder().itemId(itemId).start(start).end(start.plusDays(1)).build(),
+                        BookingDto.builder().itemId(itemId).start(start.plusDays(2)).build())),
+                "Пакет с бронированием без окончания должен отклоняться");
+    }
+
+    @Test
+    public void createBookingsRejectsOverlapWithinBatchTest() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        List<BookingDto> overlapping = List.of(
+                BookingDto.builder().itemId(itemId).start(start).end(start.plusDays(2)).build(),
+                BookingDto.builder().itemId(itemId).start(start.plusDays(1)).end(start.plusDays(3)).build());
+
+        assertThrows(BookingOverlapException.class, () -> bookingService.createBookings(userId, overlapping),
+                "Пересекающиеся бронирования в одном пакете должны быть отклонены");
+    }
+
+    @Test
+    public void rejectedBookingReleasesSlotTest() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        BookingDto booking = bookingService.createBooking(userId, BookingDto.builder()
+                .itemId(itemId)
+                .start(start)
+                .end(start.plusDays(2))
+                .build());
+        bookingService.approveBooking(ownerId, booking.getId(), false);
+
+        BookingDto rebooked = bookingService.createBooking(userId, BookingDto.builder()
+                .itemId(itemId)
+                .start(start)
+                .end(start.plusDays(2))
+                .build());
+        assertEquals(BookingStatus.WAITING, rebooked.getStatus());
+    }
+
+    @Test
+    public void findFreeSlotsTest() {
+        LocalDateTime from = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        bookingService.createBooking(userId, BookingDto.builder()
+                .itemId(itemId)
+                .start(from.plusDays(1))
+                .end(from.plusDays(2))
+                .build());
+
+        List<FreeSlotDto> freeSlots = bookingService.findFreeSlots(itemId, from, from.plusDays(3));
+
+        assertEquals(2, freeSlots.size(), "Бронирование должно разделить период на два свободных окна");
+        assertEquals(from, freeSlots.get(0).getStart());
+        assertEquals(from.plusDays(1), freeSlots.get(0).getEnd());
+        assertEquals(from.plusDays(2), freeSlots.get(1).getStart());
+        assertEquals(from.plusDays(3), freeSlots.get(1).getEnd());
+    }
+}
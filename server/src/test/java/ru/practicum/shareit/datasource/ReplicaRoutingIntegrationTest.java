@@ -0,0 +1,115 @@
+package ru.practicum.shareit.datasource;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserService;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(
+        properties = {
+                "shareit.datasource.replicas[0].url=" + ReplicaRoutingIntegrationTest.REPLICA_URL,
+                "shareit.datasource.replicas[0].username=shareit",
+                "shareit.datasource.replicas[0].password=shareit"
+        },
+        webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class ReplicaRoutingIntegrationTest {
+    static final String REPLICA_URL = "jdbc:h2:mem:shareit_replica;DB_CLOSE_DELAY=-1";
+    private static final long REPLICA_ONLY_USER_ID = 1_000_000L;
+
+    final UserRepository userRepository;
+    final UserService userService;
+    final BookingService bookingService;
+    final PlatformTransactionManager transactionManager;
+
+    @BeforeAll
+    static void createReplica() {
+        DriverManagerDataSource replica = new DriverManagerDataSource(REPLICA_URL, "shareit", "shareit");
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).execute(replica);
+        new JdbcTemplate(replica).update("INSERT INTO users (id, name, email) VALUES (?, ?, ?)",
+                REPLICA_ONLY_USER_ID, "replica", "replica@test.com");
+    }
+
+    @AfterEach
+    void resetRequest() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    public void onlyOptedInReadsGoToReplicaTest() {
+        assertFalse(replicaUserVisible(readOnly()),
+                "Неотмеченная readOnly-транзакция должна идти в основную базу");
+        assertFalse(userRepository.existsById(REPLICA_ONLY_USER_ID),
+                "Читающие методы репозитория без внешней транзакции идут в основную базу");
+        assertTrue(ReplicaReads.call(() -> replicaUserVisible(readOnly())),
+                "Отмеченное чтение в readOnly-транзакции должно идти в реплику");
+        assertFalse(ReplicaReads.call(() -> replicaUserVisible(new TransactionTemplate(transactionManager))),
+                "Пишущая транзакция должна идти в основную базу");
+    }
+
+    @Test
+    public void replicaReadsAreNotCachedTest() {
+        assertNotNull(bookingService.getOwnerSummary(REPLICA_ONLY_USER_ID),
+                "Сервисный метод с @ReadFromReplica должен читать из реплики");
+        assertFalse(userService.existsUser(REPLICA_ONLY_USER_ID),
+                "Пользователь, прочитанный из реплики, не должен попасть в общий кэш");
+    }
+
+    @Test
+    public void userReadsOwnWritesFromPrimaryTest() {
+        actAs(42L);
+        assertTrue(ReplicaReads.call(() -> replicaUserVisible(readOnly())));
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> userRepository.count());
+        assertFalse(ReplicaReads.call(() -> replicaUserVisible(readOnly())),
+                "После записи пользователь должен читать из основной базы");
+
+        actAs(43L);
+        assertTrue(ReplicaReads.call(() -> replicaUserVisible(readOnly())),
+                "Другие пользователи продолжают читать из реплики");
+    }
+
+    @Test
+    public void createdUserReadsOwnWritesFromPrimaryTest() {
+        UserDto user = userService.createUser(UserDto.builder().name("writer").email("writer@test.com").build());
+
+        actAs(user.getId());
+        assertFalse(ReplicaReads.call(() -> replicaUserVisible(readOnly())),
+                "Созданный без заголовка пользователь должен читать свои данные из основной базы");
+    }
+
+    private boolean replicaUserVisible(TransactionTemplate template) {
+        return Boolean.TRUE.equals(template.execute(status -> userRepository.existsById(REPLICA_ONLY_USER_ID)));
+    }
+
+    private TransactionTemplate readOnly() {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        return template;
+    }
+
+    private void actAs(Long userId) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("X-Sharer-User-Id", userId);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+}
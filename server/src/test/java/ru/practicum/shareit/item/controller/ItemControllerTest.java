@@ -7,22 +7,31 @@ import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.CommentPageDto;
+import ru.practicum.shareit.item.dto.FreeSlotDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.pagination.PageResponse;
+import ru.practicum.shareit.streaming.JsonArrayWriter;
 
 import java.time.LocalDateTime;
 import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
 
 import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(controllers = ItemController.class)
+@Import(JsonArrayWriter.class)
 class ItemControllerTest {
     private ItemDto itemDto;
     private CommentDto commentDto;
@@ -74,6 +83,23 @@ class ItemControllerTest {
                 .createItem(Mockito.anyLong(), Mockito.any(ItemDto.class));
     }
 
+    @Test
+    public void createItemsTest() throws Exception {
+        when(itemService.createItems(Mockito.anyLong(), Mockito.anyList()))
+                .thenReturn(List.of(itemDto));
+
+        mockMvc.perform(post("/items/batch")
+                        .header("X-Sharer-User-Id", 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(itemDto))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", is(1)))
+                .andExpect(jsonPath("$[0].id", is(itemDto.getId()), Long.class));
+
+        verify(itemService, Mockito.times(1))
+                .createItems(Mockito.anyLong(), Mockito.anyList());
+    }
+
     @Test
     public void updateItemTest() throws Exception {
         when(itemService.updateItem(Mockito.anyLong(), Mockito.any(ItemDto.class), Mockito.anyLong()))
@@ -132,8 +158,11 @@ class ItemControllerTest {
 
     @Test
     public void getUserAllItemsTest() throws Exception {
-        when(itemService.getUserAllItems(Mockito.anyLong()))
-                .thenReturn(Collections.singletonList(itemDto));
+        doAnswer(invocation -> {
+            Consumer<ItemDto> consumer = invocation.getArgument(1);
+            consumer.accept(itemDto);
+            return null;
+        }).when(itemService).streamUserAllItems(Mockito.anyLong(), Mockito.any());
 
         mockMvc.perform(get("/items")
                         .header("X-Sharer-User-Id", 1L))
@@ -145,12 +174,12 @@ class ItemControllerTest {
                 .andExpect(jsonPath("$.[0].available", is(itemDto.getAvailable())));
 
         verify(itemService, Mockito.times(1))
-                .getUserAllItems(Mockito.anyLong());
+                .streamUserAllItems(Mockito.anyLong(), Mockito.any());
     }
 
     @Test
     public void searchItemsTest() throws Exception {
-        when(itemService.searchItems(Mockito.anyString()))
+        when(itemService.searchItems(Mockito.anyString(), Mockito.anyInt(), Mockito.anyInt()))
                 .thenReturn(Collections.singletonList(itemDto));
 
         mockMvc.perform(get("/items/search")
@@ -164,7 +193,7 @@ class ItemControllerTest {
                 .andExpect(jsonPath("$.[0].available", is(itemDto.getAvailable())));
 
         verify(itemService, Mockito.times(1))
-                .searchItems(Mockito.anyString());
+                .searchItems(Mockito.anyString(), Mockito.anyInt(), Mockito.anyInt());
     }
 
     @Test
@@ -191,4 +220,44 @@ class ItemControllerTest {
         verify(itemService, Mockito.times(1))
                 .addComment(Mockito.anyLong(), Mockito.any(CommentDto.class), Mockito.anyLong());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void getItemCommentsTest() throws Exception {
+        when(itemService.getItemComments(1L, "token", 5))
+                .thenReturn(CommentPageDto.builder()
+                        .comments(List.of(commentDto))
+                        .nextPageToken("next")
+                        .build());
+
+        mockMvc.perform(get("/items/{itemId}/comments", 1L)
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("pageToken", "token")
+                        .param("size", "5"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$[0].id", is(commentDto.getId()), Long.class))
+                .andExpect(jsonPath("$[0].authorName", is(commentDto.getAuthorName())))
+                .andExpect(header().string(PageResponse.NEXT_PAGE_TOKEN_HEADER, "next"));
+    }
+
+    @Test
+    public void getFreeSlotsTest() throws Exception {
+        LocalDateTime from = LocalDateTime.now().plusDays(1).withNano(0);
+        LocalDateTime to = from.plusDays(1);
+        when(itemService.getFreeSlots(Mockito.anyLong(), Mockito.any(LocalDateTime.class),
+                Mockito.any(LocalDateTime.class)))
+                .thenReturn(List.of(new FreeSlotDto(from, to)));
+
+        mockMvc.perform(get("/items/{itemId}/free-slots", 1L)
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("from", from.toString())
+                        .param("to", to.toString()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.[0].start", is(from.toString())))
+                .andExpect(jsonPath("$.[0].end", is(to.toString())));
+
+        verify(itemService, Mockito.times(1))
+                .getFreeSlots(1L, from, to);
+    }
+}
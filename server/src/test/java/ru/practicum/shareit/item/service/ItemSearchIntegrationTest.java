@@ -0,0 +1,143 @@
+package ru.practicum.shareit.item.service;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Индекс поиска меняется только после коммита, поэтому тесты работают без общей тестовой транзакции
+// и сами удаляют созданные данные.
+@SpringBootTest(
+        properties = "jdbc.url=jdbc:postgresql://localhost:5432/test",
+        webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class ItemSearchIntegrationTest {
+
+    final ItemService itemService;
+    final UserService userService;
+    final PlatformTransactionManager transactionManager;
+    Long userId;
+
+    @BeforeEach
+    public void setUp() {
+        userId = userService.createUser(UserDto.builder()
+                .email("search@test.com")
+                .name("name")
+                .build()).getId();
+
+        itemService.createItem(userId, ItemDto.builder()
+                .name("ItemTextName")
+                .description("ItemDescription")
+                .available(false)
+                .build());
+        itemService.createItem(userId, ItemDto.builder()
+                .name("ItemName")
+                .description("ItemTextDescription")
+                .available(false)
+                .build());
+        itemService.createItem(userId, ItemDto.builder()
+                .name("ItemNameText")
+                .description("ItemDescription")
+                .available(true)
+                .build());
+        itemService.createItem(userId, ItemDto.builder()
+                .name("ItemName")
+                .description("TextItemDescription")
+                .available(true)
+                .build());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        itemService.getUserAllItems(userId).forEach(item -> itemService.deleteItem(item.getId(), userId));
+        userService.deleteUser(userId);
+    }
+
+    @Test
+    public void findByTextTests() {
+        Collection<ItemDto> itemDtos = itemService.searchItems("text", 0, 10);
+        assertEquals(2, itemDtos.size());
+    }
+
+    @Test
+    public void searchRanksNameMatchesFirstAndPagesTest() {
+        List<ItemDto> itemDtos = List.copyOf(itemService.searchItems("TEXT", 0, 10));
+        assertEquals("ItemNameText", itemDtos.get(0).getName(), "Совпадение в названии должно быть первым");
+        assertEquals("TextItemDescription", itemDtos.get(1).getDescription());
+
+        Collection<ItemDto> secondPage = itemService.searchItems("text", 1, 1);
+        assertEquals(1, secondPage.size());
+        assertEquals("TextItemDescription", secondPage.iterator().next().getDescription());
+    }
+
+    @Test
+    public void searchReflectsUpdateAndDeleteTest() {
+        ItemDto item = itemService.createItem(userId, ItemDto.builder()
+                .name("Drill")
+                .description("Cordless")
+                .available(true)
+                .build());
+        assertEquals(1, itemService.searchItems("dri", 0, 10).size());
+
+        itemService.updateItem(userId, ItemDto.builder().name("Hammer").build(), item.getId());
+        assertTrue(itemService.searchItems("dri", 0, 10).isEmpty(), "Старое название не должно находиться");
+        assertEquals(1, itemService.searchItems("hammer", 0, 10).size());
+
+        itemService.deleteItem(item.getId(), userId);
+        assertTrue(itemService.searchItems("hammer", 0, 10).isEmpty(), "Удалённая вещь не должна находиться");
+    }
+
+    @Test
+    public void uncommittedChangesAreNotSearchableTest() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.executeWithoutResult(status -> {
+            itemService.createItem(userId, ItemDto.builder()
+                    .name("Saw")
+                    .description("Uncommitted")
+                    .available(true)
+                    .build());
+            assertTrue(itemService.searchItems("uncommitted", 0, 10).isEmpty(),
+                    "Незакоммиченная вещь не должна находиться");
+            status.setRollbackOnly();
+        });
+
+        assertTrue(itemService.searchItems("uncommitted", 0, 10).isEmpty(),
+                "Откаченная вещь не должна находиться");
+    }
+
+    @Test
+    public void createItemsIndexesWholeBatchTest() {
+        List<ItemDto> itemDtos = IntStream.range(0, 120)
+                .mapToObj(i -> ItemDto.builder()
+                        .name("Batch" + i)
+                        .description("Batch item " + i)
+                        .available(true)
+                        .build())
+                .toList();
+
+        itemService.createItems(userId, itemDtos);
+
+        assertEquals(120, itemService.searchItems("batch", 0, 200).size());
+    }
+
+    @Test
+    public void twoCharacterQueryFindsItemsTest() {
+        Collection<ItemDto> itemDtos = itemService.searchItems("Te", 0, 10);
+        assertEquals(2, itemDtos.size(), "Запрос короче триграммы должен находить доступные вещи");
+        assertTrue(itemDtos.stream().allMatch(ItemDto::getAvailable));
+    }
+}
@@ -1,18 +1,34 @@
 package ru.practicum.shareit.item.service;
 
+import jakarta.persistence.EntityManager;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.SqlCaptureInspector;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.CommentPageDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.service.UserService;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @Transactional
 @SpringBootTest(
@@ -23,6 +39,8 @@ public class ItemServiceIntegrationTest {
 
     final ItemService itemService;
     final UserService userService;
+    final BookingService bookingService;
+    final EntityManager entityManager;
     Long userId;
 
     @BeforeEach
@@ -69,9 +87,23 @@ public class ItemServiceIntegrationTest {
     }
 
     @Test
-    public void findByTextTests() {
-        Collection<ItemDto> itemDtos = itemService.searchItems("text");
-        assertEquals(2, itemDtos.size());
+    public void createItemsBatchesInsertsTest() {
+        List<ItemDto> itemDtos = IntStream.range(0, 120)
+                .mapToObj(i -> ItemDto.builder()
+                        .name("Batch" + i)
+                        .description("Batch item " + i)
+                        .available(true)
+                        .build())
+                .toList();
+
+        List<String> statements = SqlCaptureInspector.capture(() -> {
+            List<ItemDto> items = itemService.createItems(userId, itemDtos);
+            assertEquals(120, items.stream().map(ItemDto::getId).distinct().count());
+            entityManager.flush();
+        });
+
+        long inserts = statements.stream().filter(sql -> sql.startsWith("insert")).count();
+        assertEquals(1, inserts, "Вставки должны выполняться одним пакетным запросом");
     }
 
     @Test
@@ -79,4 +111,148 @@ public class ItemServiceIntegrationTest {
         Collection<ItemDto> items = itemService.getUserAllItems(userId);
         assertEquals(4, items.size(), "Всего у пользователя должно быть четыре элемента");
     }
-}
\ No newline at end of file
+
+    @Test
+    public void getAllItemsQueryCountDoesNotDependOnItemCountTest() {
+        Long ownerId = userService.createUser(UserDto.builder()
+                .email("owner@test.com")
+                .name("owner")
+                .build()).getId();
+        Long bookerId = userService.createUser(UserDto.builder()
+                .email("booker@test.com")
+                .name("booker")
+                .build()).getId();
+
+        createBookedItems(ownerId, bookerId, 2);
+        long smallOwnerStatements = countStatements(() -> assertEquals(2, itemService.getUserAllItems(ownerId).size()));
+
+        createBookedItems(ownerId, bookerId, 8);
+        long largeOwnerStatements = countStatements(() -> {
+            Collection<ItemDto> items = itemService.getUserAllItems(ownerId);
+            assertEquals(10, items.size());
+            items.forEach(item -> {
+                assertNotNull(item.getLastBooking(), "У вещи должно быть последнее бронирование");
+                assertNotNull(item.getNextBooking(), "У вещи должно быть следующее бронирование");
+                assertEquals(1, item.getComments().size(), "У вещи должен быть один комментарий");
+            });
+        });
+
+        assertEquals(smallOwnerStatements, largeOwnerStatements,
+                "Количество запросов не должно зависеть от количества вещей");
+    }
+
+    @Test
+    public void getItemByIdIsCachedUntilItemChangesTest() {
+        Long bookerId = userService.createUser(UserDto.builder()
+                .email("booker@test.com")
+                .name("booker")
+                .build()).getId();
+        Long itemId = itemService.createItem(userId, ItemDto.builder()
+                .name("Drill")
+                .description("Cordless drill")
+                .available(true)
+                .build()).getId();
+
+        assertNull(itemService.getItemById(itemId).getNextBooking());
+        List<String> statements = SqlCaptureInspector.capture(() -> itemService.getItemById(itemId));
+        assertTrue(statements.isEmpty(), "Повторное чтение вещи должно обслуживаться из кеша");
+
+        itemService.updateItem(userId, ItemDto.builder().name("Hammer drill").build(), itemId);
+        assertEquals("Hammer drill", itemService.getItemById(itemId).getName(),
+                "Кеш должен сбрасываться при обновлении вещи");
+
+        BookingDto booking = bookingService.createBooking(bookerId, BookingDto.builder()
+                .itemId(itemId)
+                .start(LocalDateTime.now().plusDays(1))
+                .end(LocalDateTime.now().plusDays(2))
+                .build());
+        bookingService.approveBooking(userId, booking.getId(), true);
+        assertEquals(booking.getId(), itemService.getItemById(itemId).getNextBooking().getId(),
+                "Кеш должен сбрасываться при подтверждении бронирования");
+    }
+
+    @Test
+    public void commentsAreEmbeddedNewestFirstAndPagedTest() {
+        Long bookerId = userService.createUser(UserDto.builder()
+                .email("booker@test.com")
+                .name("booker")
+                .build()).getId();
+        Long itemId = itemService.createItem(userId, ItemDto.builder()
+                .name("Popular")
+                .description("Popular item")
+                .available(true)
+                .build()).getId();
+        BookingDto booking = bookingService.createBooking(bookerId, BookingDto.builder()
+                .itemId(itemId)
+                .start(LocalDateTime.now().minusDays(3))
+                .end(LocalDateTime.now().minusDays(2))
+                .build());
+        bookingService.approveBooking(userId, booking.getId(), true);
+        List<Long> commentIds = new ArrayList<>();
+        for (int i = 0; i < 15; i++) {
+            commentIds.add(itemService.addComment(itemId, CommentDto.builder().text("Comment" + i).build(), bookerId)
+                    .getId());
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        ItemDto item = itemService.getItemById(itemId);
+        assertEquals(15, item.getCommentCount());
+        assertEquals(10, item.getComments().size(), "В вещь должны встраиваться только свежие комментарии");
+        assertEquals("Comment14", item.getComments().iterator().next().getText());
+        assertEquals("booker", item.getComments().iterator().next().getAuthorName());
+        ItemDto listed = itemService.getUserAllItems(userId).stream()
+                .filter(dto -> dto.getId().equals(itemId))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(15, listed.getCommentCount());
+        assertEquals(10, listed.getComments().size());
+
+        List<Long> pagedIds = new ArrayList<>();
+        String pageToken = null;
+        do {
+            CommentPageDto page = itemService.getItemComments(itemId, pageToken, 6);
+            page.getComments().forEach(comment -> pagedIds.add(comment.getId()));
+            pageToken = page.getNextPageToken();
+        } while (pageToken != null);
+        Collections.reverse(commentIds);
+        assertEquals(commentIds, pagedIds, "Страницы должны обходить все комментарии от новых к старым");
+    }
+
+    private void createBookedItems(Long ownerId, Long bookerId, int count) {
+        for (int i = 0; i < count; i++) {
+            ItemDto item = itemService.createItem(ownerId, ItemDto.builder()
+                    .name("Item" + i)
+                    .description("Description" + i)
+                    .available(true)
+                    .build());
+
+            BookingDto pastBooking = bookingService.createBooking(bookerId, BookingDto.builder()
+                    .itemId(item.getId())
+                    .start(LocalDateTime.now().minusDays(3))
+                    .end(LocalDateTime.now().minusDays(2))
+                    .build());
+            bookingService.approveBooking(ownerId, pastBooking.getId(), true);
+
+            BookingDto futureBooking = bookingService.createBooking(bookerId, BookingDto.builder()
+                    .itemId(item.getId())
+                    .start(LocalDateTime.now().plusDays(2))
+                    .end(LocalDateTime.now().plusDays(3))
+                    .build());
+            bookingService.approveBooking(ownerId, futureBooking.getId(), true);
+
+            itemService.addComment(item.getId(), CommentDto.builder().text("Comment" + i).build(), bookerId);
+        }
+    }
+
+    private long countStatements(Runnable action) {
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,136 @@
+package ru.practicum.shareit.item.service;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.SqlCaptureInspector;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Выдача вещей идёт в собственной транзакции и видит только закоммиченные данные, поэтому тесты работают
+// без общей тестовой транзакции и сами удаляют созданные данные.
+@SpringBootTest(
+        properties = "jdbc.url=jdbc:postgresql://localhost:5432/test",
+        webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class ItemStreamingIntegrationTest {
+
+    final ItemService itemService;
+    final UserService userService;
+    final BookingService bookingService;
+    final UserRepository userRepository;
+    final EntityManager entityManager;
+    final JdbcTemplate jdbcTemplate;
+    final PlatformTransactionManager transactionManager;
+    Long ownerId;
+    Long bookerId;
+
+    @BeforeEach
+    public void setUp() {
+        ownerId = userService.createUser(UserDto.builder()
+                .email("streaming-owner@test.com")
+                .name("owner")
+                .build()).getId();
+        bookerId = userService.createUser(UserDto.builder()
+                .email("streaming-booker@test.com")
+                .name("booker")
+                .build()).getId();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        jdbcTemplate.update("DELETE FROM bookings WHERE booker_id = ?", bookerId);
+        itemService.getUserAllItems(ownerId).forEach(item -> itemService.deleteItem(item.getId(), ownerId));
+        userService.deleteUser(bookerId);
+        userService.deleteUser(ownerId);
+    }
+
+    @Test
+    public void streamUserAllItemsReadsInChunksTest() {
+        createItems(250);
+
+        List<ItemDto> items = new ArrayList<>();
+        List<String> statements = SqlCaptureInspector.capture(() ->
+                itemService.streamUserAllItems(ownerId, items::add));
+
+        assertEquals(250, items.size());
+        assertTrue(IntStream.range(1, items.size())
+                        .allMatch(i -> items.get(i - 1).getId() < items.get(i).getId()),
+                "Вещи должны выдаваться по возрастанию id");
+        assertEquals(7, statements.size(), "На каждую порцию из 100 вещей должно уходить два запроса");
+    }
+
+    @Test
+    public void streamUserAllItemsKeepsOnlyCurrentChunkInContextTest() {
+        List<ItemDto> created = createItems(150);
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        bookingService.createBookings(bookerId, created.stream()
+                        .map(item -> BookingDto.builder()
+                                .itemId(item.getId())
+                                .start(start)
+                                .end(start.plusDays(1))
+                                .build())
+                        .toList())
+                .forEach(booking -> bookingService.approveBooking(ownerId, booking.getId(), true));
+
+        List<Integer> entityCounts = new ArrayList<>();
+        List<ItemDto> items = new ArrayList<>();
+        itemService.streamUserAllItems(ownerId, item -> {
+            items.add(item);
+            entityCounts.add(entityManager.unwrap(Session.class).getStatistics().getEntityCount());
+        });
+
+        assertEquals(150, items.size());
+        items.forEach(item -> assertNotNull(item.getNextBooking(), "У вещи должно быть следующее бронирование"));
+        assertTrue(entityCounts.stream().allMatch(count -> count <= entityCounts.get(0)),
+                "Вещи, сводки и бронирования отданных порций не должны оставаться в контексте персистентности");
+    }
+
+    @Test
+    public void streamUserAllItemsKeepsCallerEntitiesManagedTest() {
+        createItems(3);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            User owner = userRepository.findById(ownerId).orElseThrow();
+            itemService.streamUserAllItems(ownerId, item -> {
+            });
+            assertTrue(entityManager.contains(owner), "Выдача не должна отсоединять сущности вызывающего кода");
+            owner.setName("renamed");
+        });
+
+        assertEquals("renamed", userRepository.findById(ownerId).orElseThrow().getName(),
+                "Изменения вызывающей транзакции должны сохраняться");
+    }
+
+    private List<ItemDto> createItems(int count) {
+        return itemService.createItems(ownerId, IntStream.range(0, count)
+                .mapToObj(i -> ItemDto.builder()
+                        .name("Stream" + i)
+                        .description("Streamed item " + i)
+                        .available(true)
+                        .build())
+                .toList());
+    }
+}
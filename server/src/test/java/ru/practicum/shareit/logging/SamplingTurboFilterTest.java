@@ -0,0 +1,81 @@
+package ru.practicum.shareit.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class SamplingTurboFilterTest {
+    final LoggerContext context = new LoggerContext();
+    final SamplingTurboFilter filter = new SamplingTurboFilter();
+
+    @BeforeEach
+    public void setUp() {
+        filter.setLoggers("org.hibernate.SQL, ru.practicum.shareit.item.controller");
+        filter.setRate(0.0);
+        filter.start();
+    }
+
+    @Test
+    public void dropsSampledLoggersUpToMaxLevelTest() {
+        assertEquals(FilterReply.DENY, decide("org.hibernate.SQL", Level.DEBUG));
+        assertEquals(FilterReply.DENY, decide("ru.practicum.shareit.item.controller.ItemController", Level.INFO));
+    }
+
+    @Test
+    public void keepsWarningsAndOtherLoggersTest() {
+        assertEquals(FilterReply.NEUTRAL, decide("org.hibernate.SQL", Level.WARN),
+                "Предупреждения не должны отбрасываться");
+        assertEquals(FilterReply.NEUTRAL, decide("org.hibernate.SQLQuery", Level.DEBUG),
+                "Префикс должен совпадать только по границе пакета");
+        assertEquals(FilterReply.NEUTRAL, decide("ru.practicum.shareit.item.service.ItemServiceImpl", Level.INFO));
+    }
+
+    @Test
+    public void fullRateKeepsEverythingTest() {
+        filter.setRate(1.0);
+        assertEquals(FilterReply.NEUTRAL, decide("org.hibernate.SQL", Level.DEBUG));
+    }
+
+    @Test
+    public void bindParametersFollowTheirStatementTest() {
+        filter.setFollowers("org.hibernate.orm.jdbc.bind");
+
+        assertEquals(FilterReply.DENY, decide("org.hibernate.SQL", Level.DEBUG));
+        assertEquals(FilterReply.DENY, decide("org.hibernate.orm.jdbc.bind", Level.TRACE),
+                "Параметры отброшенного запроса не должны писаться");
+
+        filter.setRate(0.999_999);
+        assertEquals(FilterReply.NEUTRAL, decide("org.hibernate.SQL", Level.DEBUG));
+        filter.setRate(0.000_001);
+        assertEquals(FilterReply.NEUTRAL, decide("org.hibernate.orm.jdbc.bind", Level.TRACE),
+                "Параметры попавшего в выборку запроса пишутся независимо от новой случайной выборки");
+    }
+
+    @Test
+    public void levelChecksAreNotSampledTest() {
+        assertEquals(FilterReply.NEUTRAL,
+                filter.decide(null, context.getLogger("org.hibernate.SQL"), Level.DEBUG, null, null, null),
+                "Проверка уровня без сообщения не должна тратить выборку");
+    }
+
+    @Test
+    public void loggingPropertiesOverrideConfiguredRatesTest() {
+        filter.setName(LoggingConfig.SQL_SAMPLING);
+        filter.setRate(1.0);
+        context.addTurboFilter(filter);
+        LoggingProperties properties = new LoggingProperties();
+        properties.getSampleRate().setSql(0.0);
+
+        LoggingConfig.apply(context, properties);
+
+        assertEquals(FilterReply.DENY, decide("org.hibernate.SQL", Level.DEBUG));
+    }
+
+    private FilterReply decide(String logger, Level level) {
+        return filter.decide(null, context.getLogger(logger), level, "message", null, null);
+    }
+}
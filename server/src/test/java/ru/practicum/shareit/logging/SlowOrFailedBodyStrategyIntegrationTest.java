@@ -0,0 +1,102 @@
+package ru.practicum.shareit.logging;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.zalando.logbook.Correlation;
+import org.zalando.logbook.HttpRequest;
+import org.zalando.logbook.HttpResponse;
+import org.zalando.logbook.Precorrelation;
+import org.zalando.logbook.Sink;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Порог медленного запроса нулевой, поэтому тело пишется в лог для каждого запроса, где оно буферизовано.
+// Потоковая выдача вещей видит только закоммиченные данные, и тест сам удаляет созданные данные.
+@SpringBootTest(properties = "shareit.logging.slow-request-threshold=0ms")
+@AutoConfigureMockMvc
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class SlowOrFailedBodyStrategyIntegrationTest {
+
+    final MockMvc mvc;
+    final CapturingSink sink;
+    final ItemService itemService;
+    final UserService userService;
+    Long userId;
+
+    @BeforeEach
+    public void setUp() {
+        userId = userService.createUser(UserDto.builder()
+                .email("logged@test.com")
+                .name("logged")
+                .build()).getId();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        itemService.getUserAllItems(userId).forEach(item -> itemService.deleteItem(item.getId(), userId));
+        userService.deleteUser(userId);
+    }
+
+    @Test
+    public void streamedItemListIsNotBufferedTest() throws Exception {
+        Long itemId = itemService.createItems(userId, IntStream.range(0, 500)
+                .mapToObj(i -> ItemDto.builder()
+                        .name("Logged" + i)
+                        .description("Logged item " + i)
+                        .available(true)
+                        .build())
+                .toList()).get(0).getId();
+
+        String streamed = mvc.perform(get("/items").header("X-Sharer-User-Id", userId))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        mvc.perform(get("/items/{itemId}", itemId).header("X-Sharer-User-Id", userId))
+                .andExpect(status().isOk());
+
+        assertTrue(streamed.contains("Logged499"), "Клиент должен получить весь список");
+        assertEquals("", sink.responseBodies.get("/items"), "Потоковый ответ не должен буферизоваться для лога");
+        assertTrue(sink.responseBodies.get("/items/" + itemId).contains("Logged0"),
+                "Тело обычного медленного ответа должно попадать в лог");
+    }
+
+    @TestConfiguration
+    static class SinkConfig {
+        @Bean
+        CapturingSink capturingSink() {
+            return new CapturingSink();
+        }
+    }
+
+    static class CapturingSink implements Sink {
+        final Map<String, String> responseBodies = new ConcurrentHashMap<>();
+
+        @Override
+        public void write(Precorrelation precorrelation, HttpRequest request) {
+        }
+
+        @Override
+        public void write(Correlation correlation, HttpRequest request, HttpResponse response) throws IOException {
+            responseBodies.put(request.getPath(), response.getBodyAsString());
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@Transactional
+@SpringBootTest
+@AutoConfigureMockMvc
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class MetricsIntegrationTest {
+
+    final MockMvc mvc;
+    final MeterRegistry meterRegistry;
+    final UserService userService;
+    final EntityManager entityManager;
+
+    @Test
+    public void serviceMethodsAreTimedTest() {
+        Long userId = userService.createUser(UserDto.builder()
+                .email("timed@test.com")
+                .name("timed")
+                .build()).getId();
+        userService.getUserById(userId);
+
+        Timer timer = meterRegistry.find("shareit.service")
+                .tag("class", "ru.practicum.shareit.user.service.UserServiceImpl")
+                .tag("method", "getUserById")
+                .timer();
+        assertNotNull(timer, "Вызов сервиса должен измеряться таймером");
+        assertTrue(timer.count() >= 1);
+    }
+
+    @Test
+    public void sqlStatementsAreCountedPerRequestTest() throws Exception {
+        Long userId = userService.createUser(UserDto.builder()
+                .email("counted@test.com")
+                .name("counted")
+                .build()).getId();
+        entityManager.clear();
+
+        mvc.perform(get("/users/{id}", userId))
+                .andExpect(status().isOk());
+        mvc.perform(get("/users/{id}", userId))
+                .andExpect(status().isOk());
+
+        DistributionSummary statements = meterRegistry.find(SqlStatementMetricsFilter.METRIC_NAME)
+                .tag("method", "GET")
+                .tag("uri", "/users/{id}")
+                .summary();
+        assertNotNull(statements, "Количество запросов к базе должно учитываться по эндпоинту");
+        assertEquals(2, statements.count(), "Каждый запрос должен давать одно наблюдение");
+        assertEquals(1.0, statements.totalAmount(),
+                "Первый запрос читает пользователя из базы, второй берёт его из кэша");
+    }
+}
@@ -10,7 +10,9 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.pagination.PageResponse;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.dto.ItemRequestPageDto;
 import ru.practicum.shareit.request.service.ItemRequestService;
 
 import java.time.LocalDateTime;
@@ -109,27 +111,31 @@ class ItemRequestControllerTest {
 
     @Test
     public void getAllItemRequestsTest() throws Exception {
-        when(itemRequestService.getAllItemRequests(Mockito.anyLong(), Mockito.anyInt(), Mockito.anyInt()))
-                .thenReturn(List.of(itemRequestDto));
+        when(itemRequestService.getAllItemRequests(7L, "token", 10))
+                .thenReturn(ItemRequestPageDto.builder()
+                        .requests(List.of(itemRequestDto))
+                        .nextPageToken("next")
+                        .build());
 
         mockMvc.perform(get("/requests/all")
                         .header("X-Sharer-User-Id", 7L)
-                        .param("from", "0")
+                        .param("pageToken", "token")
                         .param("size", "10"))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
-                .andExpect(jsonPath("$.[0].id", is(itemRequestDto.getId()), Long.class))
-                .andExpect(jsonPath("$.[0].description", is("description")))
-                .andExpect(jsonPath("$.[0].created", is(itemRequestDto.getCreated().format(formatter))))
-                .andExpect(jsonPath("$.[0].items.[0].id", is(itemDto.getId()), Long.class))
-                .andExpect(jsonPath("$.[0].items.[0].name", is(itemDto.getName())))
-                .andExpect(jsonPath("$.[0].items.[0].description", is(itemDto.getDescription())))
-                .andExpect(jsonPath("$.[0].items.[0].available", is(itemDto.getAvailable())))
-                .andExpect(jsonPath("$.[0].items.[0].requestId", is(itemDto.getRequestId()), Long.class))
-                .andExpect(jsonPath("$.[0].userId", is(itemRequestDto.getUserId()), Long.class));
+                .andExpect(jsonPath("$[0].id", is(itemRequestDto.getId()), Long.class))
+                .andExpect(jsonPath("$[0].description", is("description")))
+                .andExpect(jsonPath("$[0].created", is(itemRequestDto.getCreated().format(formatter))))
+                .andExpect(jsonPath("$[0].items.[0].id", is(itemDto.getId()), Long.class))
+                .andExpect(jsonPath("$[0].items.[0].name", is(itemDto.getName())))
+                .andExpect(jsonPath("$[0].items.[0].description", is(itemDto.getDescription())))
+                .andExpect(jsonPath("$[0].items.[0].available", is(itemDto.getAvailable())))
+                .andExpect(jsonPath("$[0].items.[0].requestId", is(itemDto.getRequestId()), Long.class))
+                .andExpect(jsonPath("$[0].userId", is(itemRequestDto.getUserId()), Long.class))
+                .andExpect(header().string(PageResponse.NEXT_PAGE_TOKEN_HEADER, "next"));
 
         verify(itemRequestService, Mockito.times(1))
-                .getAllItemRequests(Mockito.anyLong(), Mockito.anyInt(), Mockito.anyInt());
+                .getAllItemRequests(7L, "token", 10);
     }
 
     @Test
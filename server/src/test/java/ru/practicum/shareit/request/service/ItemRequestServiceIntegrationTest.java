@@ -1,17 +1,25 @@
 package ru.practicum.shareit.request.service;
 
+import jakarta.persistence.EntityManager;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.SqlCaptureInspector;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.dto.ItemRequestPageDto;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.service.UserService;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -24,6 +32,8 @@ public class ItemRequestServiceIntegrationTest {
 
     final ItemRequestServiceImpl itemRequestService;
     final UserService userService;
+    final ItemService itemService;
+    final EntityManager entityManager;
     Long userId;
 
     @BeforeEach
@@ -73,6 +83,75 @@ public class ItemRequestServiceIntegrationTest {
         assertEquals("description", foundRequest.getDescription());
     }
 
+    @Test
+    public void requestedItemsAreLoadedInOneQueryTest() {
+        Long ownerId = userService.createUser(UserDto.builder()
+                .email("owner@test.com")
+                .name("owner")
+                .build()).getId();
+        Long otherId = userService.createUser(UserDto.builder()
+                .email("other@test.com")
+                .name("other")
+                .build()).getId();
+
+        createAnsweredRequests(ownerId, 2);
+        // Прогрев кеша пользователей, чтобы сравнивались только запросы к заявкам и вещам.
+        itemRequestService.getItemRequestsByUser(userId);
+        itemRequestService.getAllItemRequests(otherId, null, 20);
+        long smallOwnStatements = countStatements(() -> itemRequestService.getItemRequestsByUser(userId));
+        long smallAllStatements = countStatements(() -> itemRequestService.getAllItemRequests(otherId, null, 20));
+
+        createAnsweredRequests(ownerId, 6);
+        List<ItemRequestDto> ownRequests = new ArrayList<>();
+        List<ItemRequestDto> allRequests = new ArrayList<>();
+        long largeOwnStatements = countStatements(
+                () -> ownRequests.addAll(itemRequestService.getItemRequestsByUser(userId)));
+        long largeAllStatements = countStatements(
+                () -> allRequests.addAll(itemRequestService.getAllItemRequests(otherId, null, 20).getRequests()));
+
+        assertEquals(smallOwnStatements, largeOwnStatements,
+                "Количество запросов не должно зависеть от количества запросов на вещи");
+        assertEquals(smallAllStatements, largeAllStatements,
+                "Количество запросов не должно зависеть от размера страницы");
+        for (List<ItemRequestDto> requests : List.of(ownRequests, allRequests)) {
+            assertEquals(8, requests.size());
+            requests.forEach(request -> {
+                assertEquals(2, request.getItems().size(), "У запроса должно быть две вещи");
+                assertTrue(request.getItems().stream()
+                        .allMatch(item -> item.getName().startsWith(request.getDescription())));
+            });
+        }
+    }
+
+    @Test
+    public void getAllItemRequestsPagesFeedWithTokenTest() {
+        Long otherId = userService.createUser(UserDto.builder()
+                .email("other@test.com")
+                .name("other")
+                .build()).getId();
+        List<Long> createdIds = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            createdIds.add(itemRequestService.createItemRequest(userId, ItemRequestDto.builder()
+                    .description("description" + i)
+                    .build()).getId());
+        }
+        itemRequestService.createItemRequest(otherId, ItemRequestDto.builder().description("own").build());
+        entityManager.flush();
+        entityManager.clear();
+
+        List<Long> feedIds = new ArrayList<>();
+        String pageToken = null;
+        do {
+            ItemRequestPageDto page = itemRequestService.getAllItemRequests(otherId, pageToken, 3);
+            assertTrue(page.getRequests().size() <= 3);
+            page.getRequests().forEach(request -> feedIds.add(request.getId()));
+            pageToken = page.getNextPageToken();
+        } while (pageToken != null);
+
+        Collections.reverse(createdIds);
+        assertEquals(createdIds, feedIds, "Лента должна идти от новых запросов к старым без пропусков и повторов");
+    }
+
     @Test
     public void itemRequestNotFoundTest() {
         Long nonExistentRequestId = 999L;
@@ -80,4 +159,26 @@ public class ItemRequestServiceIntegrationTest {
         assertThrows(NotFoundException.class, () -> itemRequestService.getItemRequestById(nonExistentRequestId, userId),
                 "Запрос должен выбросить исключение, если он не найден");
     }
-}
\ No newline at end of file
+
+    private void createAnsweredRequests(Long ownerId, int count) {
+        for (int i = 0; i < count; i++) {
+            ItemRequestDto request = itemRequestService.createItemRequest(userId, ItemRequestDto.builder()
+                    .description("Request" + i + "-" + System.nanoTime())
+                    .build());
+            for (int j = 0; j < 2; j++) {
+                itemService.createItem(ownerId, ItemDto.builder()
+                        .name(request.getDescription() + " item" + j)
+                        .description("Answer")
+                        .available(true)
+                        .requestId(request.getId())
+                        .build());
+            }
+        }
+    }
+
+    private long countStatements(Runnable action) {
+        entityManager.flush();
+        entityManager.clear();
+        return SqlCaptureInspector.capture(action).size();
+    }
+}
@@ -10,8 +10,12 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserImportService;
 import ru.practicum.shareit.user.service.UserServiceImpl;
 
+import java.io.InputStream;
+import java.io.OutputStream;
+
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
@@ -29,6 +33,9 @@ class UserControllerTest {
     @MockBean
     UserServiceImpl userService;
 
+    @MockBean
+    UserImportService userImportService;
+
     @Autowired
     ObjectMapper objectMapper;
 
@@ -103,4 +110,15 @@ class UserControllerTest {
         verify(userService, Mockito.times(1)).getUserById(anyLong());
     }
 
-}
\ No newline at end of file
+    @Test
+    public void importUsersTest() throws Exception {
+        String body = "{\"name\":\"Test User\",\"email\":\"test@mail.com\"}\n";
+
+        mockMvc.perform(post("/users/import")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(body))
+                .andExpect(status().isOk());
+
+        verify(userImportService, Mockito.times(1)).importUsers(any(InputStream.class), any(OutputStream.class));
+    }
+}
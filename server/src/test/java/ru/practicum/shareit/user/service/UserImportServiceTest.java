@@ -0,0 +1,82 @@
+package ru.practicum.shareit.user.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import ru.practicum.shareit.user.dto.UserImportResultDto;
+import ru.practicum.shareit.user.dto.UserImportStatus;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class UserImportServiceTest {
+    final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    final UserService userService = Mockito.mock(UserService.class);
+    final UserImportService userImportService = new UserImportService(userService, objectMapper,
+            Validation.buildDefaultValidatorFactory().getValidator());
+
+    @Test
+    public void conflictOnRetryIsReportedAsDuplicateTest() throws IOException {
+        when(userService.importUsers(anyList()))
+                .thenThrow(new DataIntegrityViolationException("first"))
+                .thenThrow(new DataIntegrityViolationException("retry"))
+                .thenReturn(List.of(UserImportResultDto.builder()
+                        .line(2)
+                        .status(UserImportStatus.CREATED)
+                        .id(10L)
+                        .email("second@test.com")
+                        .build()));
+
+        List<JsonNode> results = importUsers("{\"name\":\"First\",\"email\":\"first@test.com\"}\n"
+                + "{\"name\":\"Second\",\"email\":\"second@test.com\"}");
+
+        assertEquals(3, results.size(), "Каждая строка и итог должны попасть в ответ");
+        assertEquals("DUPLICATE", results.get(0).get("status").asText(),
+                "Строка, снова столкнувшаяся с параллельной вставкой, должна считаться дубликатом");
+        assertEquals("first@test.com", results.get(0).get("email").asText());
+        assertEquals("CREATED", results.get(1).get("status").asText());
+        assertEquals(1, results.get(2).get("created").asInt());
+        assertEquals(1, results.get(2).get("duplicates").asInt());
+        verify(userService, times(3)).importUsers(anyList());
+    }
+
+    @Test
+    public void unexpectedFailureEndsWithSummaryTest() throws IOException {
+        when(userService.importUsers(anyList())).thenThrow(new IllegalStateException("database is down"));
+
+        List<JsonNode> results = importUsers("{\"name\":\"First\",\"email\":\"first@test.com\"}");
+
+        assertEquals(1, results.size(), "Прерванный импорт должен заканчиваться итоговой строкой");
+        assertEquals(0, results.get(0).get("created").asInt());
+        assertNotNull(results.get(0).get("error"), "Итог должен сообщать о прерывании импорта");
+    }
+
+    private List<JsonNode> importUsers(String input) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        userImportService.importUsers(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), output);
+        return output.toString(StandardCharsets.UTF_8).lines()
+                .map(line -> {
+                    try {
+                        return objectMapper.readTree(line);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                })
+                .toList();
+    }
+}
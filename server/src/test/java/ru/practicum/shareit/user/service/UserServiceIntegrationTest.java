@@ -1,17 +1,26 @@
 package ru.practicum.shareit.user.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.SqlCaptureInspector;
 import ru.practicum.shareit.exception.EmailExistException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.dto.UserImportStatus;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.Collection;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -23,6 +32,8 @@ import static org.junit.jupiter.api.Assertions.*;
 public class UserServiceIntegrationTest {
 
     final UserServiceImpl userService;
+    final UserImportService userImportService;
+    final ObjectMapper objectMapper;
     Long userId;
 
     @BeforeEach
@@ -102,4 +113,59 @@ public class UserServiceIntegrationTest {
 
         assertThrows(ValidationException.class, () -> userService.createUser(invalidUser));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void existsUserIsServedFromCacheTest() {
+        assertTrue(userService.existsUser(userId));
+
+        List<String> statements = SqlCaptureInspector.capture(() -> assertTrue(userService.existsUser(userId)));
+        assertTrue(statements.isEmpty(), "Повторная проверка пользователя не должна обращаться к базе");
+
+        userService.updateUser(userId, UserDto.builder().name("Renamed").build());
+        assertEquals("Renamed", userService.getUserById(userId).getName(), "Кеш должен сбрасываться при обновлении");
+
+        userService.deleteUser(userId);
+        assertFalse(userService.existsUser(userId), "Кеш должен сбрасываться при удалении");
+    }
+
+    @Test
+    public void importUsersReportsEachLineTest() throws IOException {
+        String input = String.join("\n",
+                "{\"name\":\"First\",\"email\":\"first@test.com\"}",
+                "{\"name\":\"Again\",\"email\":\"first@test.com\"}",
+                "{\"name\":\"Existing\",\"email\":\"user@test.com\"}",
+                "not json",
+                "",
+                "{\"name\":\"No email\",\"email\":\" \"}",
+                "{\"name\":\"Second\",\"email\":\"second@test.com\"}");
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        userImportService.importUsers(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), output);
+
+        List<JsonNode> results = output.toString(StandardCharsets.UTF_8).lines()
+                .map(line -> {
+                    try {
+                        return objectMapper.readTree(line);
+                    } catch (IOException e) {
+                        throw new IllegalStateException(e);
+                    }
+                })
+                .toList();
+        assertEquals(7, results.size(), "Пустые строки не должны попадать в ответ");
+        List<JsonNode> lines = results.subList(0, 6);
+        assertEquals(List.of("CREATED", "DUPLICATE", "DUPLICATE", "INVALID", "INVALID", "CREATED"),
+                lines.stream().map(result -> result.get("status").asText()).toList());
+        assertEquals(List.of(1, 2, 3, 4, 6, 7),
+                lines.stream().map(result -> result.get("line").asInt()).toList());
+        JsonNode summary = results.get(6);
+        assertEquals(2, summary.get("created").asInt());
+        assertEquals(2, summary.get("duplicates").asInt());
+        assertEquals(2, summary.get("invalid").asInt());
+        assertNull(summary.get("error"), "Успешный импорт не должен сообщать об ошибке");
+
+        Long firstId = results.get(0).get("id").asLong();
+        assertEquals("first@test.com", userService.getUserById(firstId).getEmail());
+        assertEquals(3, userService.findAll().size());
+        assertEquals(UserImportStatus.CREATED.name(), results.get(5).get("status").asText());
+    }
+}